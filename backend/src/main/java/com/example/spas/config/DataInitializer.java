@@ -3,7 +3,9 @@ package com.example.spas.config;
 import com.example.spas.model.*;
 import com.example.spas.model.enums.*;
 import com.example.spas.repository.*;
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -29,6 +31,7 @@ public class DataInitializer implements CommandLineRunner {
     private final ServiceRepository serviceRepository;
     private final BookingRepository bookingRepository;
     private final ReviewRepository reviewRepository;
+    private final SlotAllocationRepository slotAllocationRepository;
 
     // Configuration properties for seeding control
     @Value("${app.seeding.enabled:true}")
@@ -43,7 +46,8 @@ public class DataInitializer implements CommandLineRunner {
         SpaRepository spaRepository,
         ServiceRepository serviceRepository,
         BookingRepository bookingRepository,
-        ReviewRepository reviewRepository
+        ReviewRepository reviewRepository,
+        SlotAllocationRepository slotAllocationRepository
     ) {
         this.membershipRepository = membershipRepository;
         this.userRepository = userRepository;
@@ -51,6 +55,7 @@ public class DataInitializer implements CommandLineRunner {
         this.serviceRepository = serviceRepository;
         this.bookingRepository = bookingRepository;
         this.reviewRepository = reviewRepository;
+        this.slotAllocationRepository = slotAllocationRepository;
     }
 
     /**
@@ -107,6 +112,10 @@ public class DataInitializer implements CommandLineRunner {
             // Step 5: Seed Bookings (customers booking services)
             logger.info("[5/7] Seeding Bookings...");
             seedBookings();
+            // Seeded bookings skip BookingService, so count them into the slot capacity here
+            slotAllocationRepository.deleteAllCounters();
+            slotAllocationRepository.insertServiceCountersFromBookings();
+            slotAllocationRepository.insertSpaCountersFromBookings();
 
             // Step 6: Seed Reviews (customers reviewing spas)
             logger.info("[6/7] Seeding Reviews...");
@@ -185,6 +194,8 @@ public class DataInitializer implements CommandLineRunner {
         Membership goldMem = membershipRepository
             .findByName("Gold")
             .orElse(null);
+        // Seeded members are in their first billing period
+        LocalDateTime memberSince = LocalDateTime.now();
 
         // --- ADMIN USER ---
         User admin = new User(
@@ -209,6 +220,8 @@ public class DataInitializer implements CommandLineRunner {
         );
         client1.setMembership(basicMem);
         client1.setMembershipStatus(MembershipStatus.ACTIVE);
+        client1.setMembershipStartedAt(memberSince);
+        client1.setMembershipPeriodEnd(memberSince.plusMonths(1));
         userRepository.save(client1);
 
         User client2 = new User(
@@ -221,6 +234,8 @@ public class DataInitializer implements CommandLineRunner {
         );
         client2.setMembership(premiumMem);
         client2.setMembershipStatus(MembershipStatus.ACTIVE);
+        client2.setMembershipStartedAt(memberSince);
+        client2.setMembershipPeriodEnd(memberSince.plusMonths(1));
         userRepository.save(client2);
 
         // --- REGULAR USERS (Customers) ---
@@ -234,6 +249,8 @@ public class DataInitializer implements CommandLineRunner {
         );
         user1.setMembership(premiumMem);
         user1.setMembershipStatus(MembershipStatus.ACTIVE);
+        user1.setMembershipStartedAt(memberSince);
+        user1.setMembershipPeriodEnd(memberSince.plusMonths(1));
         userRepository.save(user1);
 
         User user2 = new User(
@@ -246,6 +263,8 @@ public class DataInitializer implements CommandLineRunner {
         );
         user2.setMembership(basicMem);
         user2.setMembershipStatus(MembershipStatus.ACTIVE);
+        user2.setMembershipStartedAt(memberSince);
+        user2.setMembershipPeriodEnd(memberSince.plusMonths(1));
         userRepository.save(user2);
 
         User user3 = new User(
@@ -258,6 +277,8 @@ public class DataInitializer implements CommandLineRunner {
         );
         user3.setMembership(goldMem);
         user3.setMembershipStatus(MembershipStatus.ACTIVE);
+        user3.setMembershipStartedAt(memberSince);
+        user3.setMembershipPeriodEnd(memberSince.plusMonths(1));
         userRepository.save(user3);
 
         User user4 = new User(
@@ -282,6 +303,8 @@ public class DataInitializer implements CommandLineRunner {
         );
         user5.setMembership(basicMem);
         user5.setMembershipStatus(MembershipStatus.ACTIVE);
+        user5.setMembershipStartedAt(memberSince);
+        user5.setMembershipPeriodEnd(memberSince.plusMonths(1));
         userRepository.save(user5);
 
         logger.info(
@@ -311,6 +334,7 @@ public class DataInitializer implements CommandLineRunner {
             client1
         );
         spa1.setApprovalStatus(ApprovalStatus.APPROVED); // ADMIN approved
+        spa1.setResourceCount(3); // 3 therapists shared by all services
         spaRepository.save(spa1);
 
         // --- SPA 2: Zen Well ---
@@ -321,6 +345,14 @@ public class DataInitializer implements CommandLineRunner {
             client2
         );
         spa2.setApprovalStatus(ApprovalStatus.APPROVED);
+        // Open 10:00-20:00 Monday to Saturday, closed on Sundays
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day != DayOfWeek.SUNDAY) {
+                spa2.getOpeningHours().add(
+                    new OpeningPeriod(day, LocalTime.of(10, 0), LocalTime.of(20, 0))
+                );
+            }
+        }
         spaRepository.save(spa2);
 
         // --- SPA 3: Serenity Springs (Pending Approval) ---
@@ -359,6 +391,7 @@ public class DataInitializer implements CommandLineRunner {
         );
         massage.setApprovalStatus(ApprovalStatus.APPROVED);
         massage.setServiceStatus(ServiceStatus.AVAILABLE);
+        massage.setCapacity(2); // 2 massage rooms
         serviceRepository.save(massage);
 
         Service facial = new Service(
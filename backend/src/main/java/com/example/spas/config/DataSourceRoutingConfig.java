@@ -0,0 +1,79 @@
+package com.example.spas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Primary/replica DataSource split (enabled with app.datasource.replica.enabled=true).
+ *
+ * - primaryDataSource: spring.datasource.* (writes, Flyway, non-read-only transactions)
+ * - replicaDataSource: app.datasource.replica.* (@Transactional(readOnly = true) methods)
+ * - dataSource: the routing DataSource the rest of the app (JPA, Flyway) sees
+ *
+ * When disabled, Spring Boot's single auto-configured DataSource is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+        DataSourceProperties properties,
+        @Value("${app.datasource.replica.url}") String url,
+        @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+        @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+        @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource
+    ) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+            ReadWriteRoutingDataSource.Target.PRIMARY, primaryDataSource,
+            ReadWriteRoutingDataSource.Target.REPLICA, replicaDataSource
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        // Defer the physical connection until the first statement (see ReadWriteRoutingDataSource)
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
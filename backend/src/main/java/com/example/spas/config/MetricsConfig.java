@@ -0,0 +1,23 @@
+package com.example.spas.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics wiring for the service layer.
+ *
+ * Controller endpoints are timed automatically by Spring Boot under
+ * "http.server.requests" (tagged by uri template). Service methods opt in
+ * with @Timed("spas.service"); the aspect adds "class" and "method" tags.
+ * Percentiles (p50/p99/p999) for both are configured in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
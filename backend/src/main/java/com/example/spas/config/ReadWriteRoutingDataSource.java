@@ -0,0 +1,29 @@
+package com.example.spas.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for @Transactional(readOnly = true) work to the replica
+ * and everything else to the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager
+ * asks for a connection before the read-only flag is visible here, so the
+ * physical connection has to be fetched lazily on the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && !ReplicaRoutingContext.isPrimaryPinned()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.spas.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Read-your-writes for replica routing.
+ * After a successful write (POST/PUT/PATCH/DELETE, e.g. creating a booking)
+ * the session remembers the time. For the next "max-lag" window that
+ * session's reads are pinned to the primary, so the user sees their own
+ * booking even if the replica is behind.
+ */
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    static final String LAST_WRITE_ATTRIBUTE = "lastWriteAtMillis";
+
+    private final long maxLagMillis;
+
+    public ReadYourWritesInterceptor(
+        @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag
+    ) {
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            Object lastWrite = session.getAttribute(LAST_WRITE_ATTRIBUTE);
+            if (lastWrite instanceof Long lastWriteAt
+                && System.currentTimeMillis() - lastWriteAt < maxLagMillis) {
+                ReplicaRoutingContext.pinToPrimary();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingContext.clear();
+
+        if (isWrite(request.getMethod()) && ex == null && response.getStatus() < 400) {
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                session.setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+}
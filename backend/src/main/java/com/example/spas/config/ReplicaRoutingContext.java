@@ -0,0 +1,26 @@
+package com.example.spas.config;
+
+/**
+ * Per-thread override that forces read-only transactions onto the primary.
+ * Used for read-your-writes: right after a caller wrote something, the
+ * replica may not have caught up yet.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryPinned() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    public static void clear() {
+        PRIMARY_PINNED.remove();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.spas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (cleanup and housekeeping tasks).
+ * Every job must be safe to run on several app instances at once.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
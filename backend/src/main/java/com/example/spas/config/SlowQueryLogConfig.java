@@ -0,0 +1,41 @@
+package com.example.spas.config;
+
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Production slow-query log.
+ * Wraps the application DataSource in a JDBC proxy that times every statement
+ * and hands it to SlowQueryLogListener. Only active in the prod profile; dev
+ * keeps Hibernate's show-sql output instead.
+ */
+@Configuration
+@Profile("prod")
+public class SlowQueryLogConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+        @Value("${app.slow-query.threshold-ms:200}") long thresholdMillis,
+        @Value("${app.slow-query.sample-rate:0}") double sampleRate
+    ) {
+        SlowQueryLogListener listener = new SlowQueryLogListener(thresholdMillis, sampleRate);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the DataSource the application uses; never wrap twice
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name("spas")
+                        .listener(listener)
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.spas.config;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs statements slower than the threshold (WARN) together with their bound
+ * parameters and the service method that issued them. Faster statements are
+ * logged (INFO) for a random sample only, so the log stays cheap at high volume.
+ */
+public class SlowQueryLogListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger("spas.slow-query");
+
+    private static final String APP_PACKAGE = "com.example.spas.";
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    public SlowQueryLogListener(long thresholdMillis, double sampleRate) {
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Nothing to do before execution
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+
+        if (elapsed >= thresholdMillis) {
+            logger.warn(
+                "Slow query: {} ms, caller={}, success={}, sql=[{}], params={}",
+                elapsed,
+                findCaller(),
+                execInfo.isSuccess(),
+                describeQueries(queryInfoList),
+                describeParameters(queryInfoList)
+            );
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info(
+                "Sampled query: {} ms, caller={}, sql=[{}]",
+                elapsed,
+                findCaller(),
+                describeQueries(queryInfoList)
+            );
+        }
+    }
+
+    // --- Helpers ---
+
+    /**
+     * First application frame on the stack (ignoring Spring proxies), e.g. "BookingService.createBooking".
+     * Only called for statements that are actually logged.
+     */
+    private String findCaller() {
+        Optional<String> caller = StackWalker.getInstance().walk(frames ->
+            frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE))
+                .filter(frame -> !frame.getClassName().startsWith(APP_PACKAGE + "config."))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                })
+        );
+        return caller.orElse("unknown");
+    }
+
+    private String describeQueries(List<QueryInfo> queryInfoList) {
+        StringJoiner joiner = new StringJoiner("; ");
+        for (QueryInfo queryInfo : queryInfoList) {
+            joiner.add(queryInfo.getQuery());
+        }
+        return joiner.toString();
+    }
+
+    private String describeParameters(List<QueryInfo> queryInfoList) {
+        StringJoiner batches = new StringJoiner(", ", "[", "]");
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+                StringJoiner values = new StringJoiner(", ", "(", ")");
+                for (ParameterSetOperation parameter : parameters) {
+                    Object[] args = parameter.getArgs();
+                    if (ParameterSetOperation.isSetNullParameterOperation(parameter) || args.length < 2) {
+                        values.add("null");
+                    } else {
+                        values.add(String.valueOf(args[1]));
+                    }
+                }
+                batches.add(values.toString());
+            }
+        }
+        return batches.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.spas.config;
+
+import com.example.spas.dto.ServiceView;
+import com.example.spas.dto.SpaDetailView;
+import com.example.spas.dto.SpaView;
+import com.example.spas.service.BookingService;
+import com.example.spas.service.SpaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * JIT warm-up before the node reports ready.
+ *
+ * Spring Boot only switches the readiness state to ACCEPTING_TRAFFIC after all
+ * runners have finished, so while this runs the readiness probe (/api/readyz,
+ * /actuator/health/readiness on the management port) reports OUT_OF_SERVICE
+ * with HTTP 503 and the load balancer keeps traffic away. Meanwhile we call the
+ * hot read paths (spa list, spa details, availability) and serialize their
+ * DTOs with the MVC ObjectMapper, so the JIT compiles them and the Hibernate
+ * and Jackson metadata caches are filled before real users arrive.
+ *
+ * Runs after DataInitializer (@Order(1)). Warm-up calls are real service
+ * calls, so they also show up in the service timers for the first few minutes.
+ */
+@Component
+@Order(2)
+public class WarmupRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    // Upper bounds so a large catalog doesn't turn warm-up into a full scan
+    private static final int MAX_SPAS = 20;
+    private static final int MAX_SERVICES_PER_SPA = 10;
+    private static final int AVAILABILITY_DAYS = 7;
+
+    private final SpaService spaService;
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.warmup.enabled:false}")
+    private boolean warmupEnabled;
+
+    @Value("${app.warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${app.warmup.max-duration:30s}")
+    private Duration maxDuration;
+
+    public WarmupRunner(SpaService spaService, BookingService bookingService, ObjectMapper objectMapper) {
+        this.spaService = spaService;
+        this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!warmupEnabled) {
+            logger.info("JIT warm-up is disabled. Skipping...");
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        int completed = 0;
+
+        try {
+            while (completed < iterations && System.nanoTime() < deadline) {
+                warmupOnce();
+                completed++;
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            // Warm-up is best effort; never keep the node from starting
+            logger.warn("JIT warm-up stopped after {} iterations: {}", completed, e.getMessage());
+        }
+
+        logger.info(
+            "JIT warm-up finished: {} iterations in {} ms",
+            completed,
+            Duration.ofNanos(System.nanoTime() - start).toMillis()
+        );
+    }
+
+    private void warmupOnce() throws JsonProcessingException {
+        List<SpaView> spas = spaService.findAllApprovedSpas();
+        objectMapper.writeValueAsBytes(spas);
+
+        LocalDate today = LocalDate.now();
+        for (SpaView spa : spas.subList(0, Math.min(spas.size(), MAX_SPAS))) {
+            SpaDetailView details = spaService.getSpaDetails(spa.getId());
+            objectMapper.writeValueAsBytes(details);
+
+            List<ServiceView> services = details.getServices();
+            for (ServiceView service : services.subList(0, Math.min(services.size(), MAX_SERVICES_PER_SPA))) {
+                for (int day = 0; day < AVAILABILITY_DAYS; day++) {
+                    objectMapper.writeValueAsBytes(
+                        bookingService.checkAvailability(service.getId(), today.plusDays(day))
+                    );
+                }
+            }
+        }
+    }
+}
@@ -2,11 +2,18 @@ package com.example.spas.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    public WebConfig(ReadYourWritesInterceptor readYourWritesInterceptor) {
+        this.readYourWritesInterceptor = readYourWritesInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry
@@ -17,4 +24,10 @@ public class WebConfig implements WebMvcConfigurer {
             .allowCredentials(true) // Allows session cookies
             .maxAge(3600); // Cache preflight for 1 hour
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Pins a session's reads to the primary DB right after it wrote something
+        registry.addInterceptor(readYourWritesInterceptor);
+    }
 }
@@ -1,24 +1,46 @@
 package com.example.spas.controller;
 
+import com.example.spas.dto.AdminStatsView;
 import com.example.spas.dto.ApprovalRequest;
+import com.example.spas.dto.BookingSearchFilter;
+import com.example.spas.dto.BookingView;
+import com.example.spas.dto.KeysetPage;
 import com.example.spas.dto.MembershipCreateRequest;
 import com.example.spas.dto.MembershipView;
+import com.example.spas.dto.PromoCodeCreateRequest;
+import com.example.spas.dto.PromoCodeView;
+import com.example.spas.dto.RecordingView;
 import com.example.spas.dto.ServiceView;
 import com.example.spas.dto.SpaView;
 import com.example.spas.dto.UserView;
 import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.model.enums.BookingStatus;
 import com.example.spas.model.enums.MembershipStatus;
 import com.example.spas.model.enums.Role;
+import com.example.spas.service.AdminStatsService;
+import com.example.spas.service.BookingSearchService;
+import com.example.spas.service.FlightRecorderService;
 import com.example.spas.service.MembershipService;
 import com.example.spas.service.OfferService;
+import com.example.spas.service.PromoCodeService;
 import com.example.spas.service.SpaService;
 import com.example.spas.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/admin")
@@ -28,17 +50,32 @@ public class AdminController extends BaseController {
     private final OfferService offerService;
     private final UserService userService;
     private final MembershipService membershipService;
+    private final FlightRecorderService flightRecorderService;
+    private final PromoCodeService promoCodeService;
+    private final AdminStatsService adminStatsService;
+    private final BookingSearchService bookingSearchService;
+    private final ObjectMapper objectMapper;
 
     public AdminController(
         SpaService spaService,
         OfferService offerService,
         UserService userService,
-        MembershipService membershipService
+        MembershipService membershipService,
+        FlightRecorderService flightRecorderService,
+        PromoCodeService promoCodeService,
+        AdminStatsService adminStatsService,
+        BookingSearchService bookingSearchService,
+        ObjectMapper objectMapper
     ) {
         this.spaService = spaService;
         this.offerService = offerService;
         this.userService = userService;
         this.membershipService = membershipService;
+        this.flightRecorderService = flightRecorderService;
+        this.promoCodeService = promoCodeService;
+        this.adminStatsService = adminStatsService;
+        this.bookingSearchService = bookingSearchService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -124,6 +161,123 @@ public class AdminController extends BaseController {
         return new ResponseEntity<>(newMembership, HttpStatus.CREATED);
     }
 
+    /**
+     * Feature 24: Create a limited-use promo code
+     * Edge Case: Service logic checks for duplicate codes.
+     */
+    @PostMapping("/promo-codes")
+    public ResponseEntity<PromoCodeView> createPromoCode(
+        HttpSession session,
+        @Valid @RequestBody PromoCodeCreateRequest request
+    ) {
+        checkRole(session, Role.ADMIN);
+        return new ResponseEntity<>(promoCodeService.createPromoCode(request), HttpStatus.CREATED);
+    }
+
+    /**
+     * Feature 24: View promo codes and how often they were redeemed
+     */
+    @GetMapping("/promo-codes")
+    public ResponseEntity<List<PromoCodeView>> getPromoCodes(HttpSession session) {
+        checkRole(session, Role.ADMIN);
+        return ResponseEntity.ok(promoCodeService.getAllPromoCodes());
+    }
+
+    /**
+     * Feature 23: Dashboard counts per role, membership status and plan,
+     * spa/service approval status and booking status.
+     * Counts are cached briefly (app.admin-stats.ttl).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<AdminStatsView> getStats(HttpSession session) {
+        checkRole(session, Role.ADMIN);
+        return ResponseEntity.ok(adminStatsService.getStats());
+    }
+
+    /**
+     * Feature 23: Search users, one page at a time.
+     * e.g., GET /api/admin/users/search?role=USER&membershipStatus=ACTIVE&q=jo&limit=50
+     * Pass the returned nextCursor as "after" for the next page.
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<KeysetPage<UserView>> searchUsers(
+        HttpSession session,
+        @RequestParam(required = false) Role role,
+        @RequestParam(required = false) Long membershipId,
+        @RequestParam(required = false) MembershipStatus membershipStatus,
+        @RequestParam(required = false) String q,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit
+    ) {
+        checkRole(session, Role.ADMIN);
+        return ResponseEntity.ok(
+            userService.searchUsers(role, membershipId, membershipStatus, q, after, limit)
+        );
+    }
+
+    /**
+     * Feature 26: Booking explorer across all spas, one page at a time.
+     * e.g., GET /api/admin/bookings?spaId=1&status=CONFIRMED&from=2025-01-01T00:00:00&limit=50
+     * Pass the returned nextCursor as "after" for the next page.
+     */
+    @GetMapping("/bookings")
+    public ResponseEntity<KeysetPage<BookingView>> searchBookings(
+        HttpSession session,
+        @RequestParam(required = false) Long spaId,
+        @RequestParam(required = false) Long serviceId,
+        @RequestParam(required = false) Long customerId,
+        @RequestParam(required = false) BookingStatus status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit
+    ) {
+        checkRole(session, Role.ADMIN);
+        BookingSearchFilter filter = new BookingSearchFilter(spaId, serviceId, customerId, status, from, to);
+        return ResponseEntity.ok(bookingSearchService.searchBookings(filter, after, limit));
+    }
+
+    /**
+     * Feature 26: All matching bookings as newline-delimited JSON, streamed
+     * while they are read (same filters as GET /admin/bookings).
+     * Edge Case: Filters are checked before the response starts, so a bad
+     * request is still a 400.
+     */
+    @GetMapping("/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+        HttpSession session,
+        @RequestParam(required = false) Long spaId,
+        @RequestParam(required = false) Long serviceId,
+        @RequestParam(required = false) Long customerId,
+        @RequestParam(required = false) BookingStatus status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        checkRole(session, Role.ADMIN);
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new IllegalArgumentException("The end of the time range must be after its start.");
+        }
+        BookingSearchFilter filter = new BookingSearchFilter(spaId, serviceId, customerId, status, from, to);
+        StreamingResponseBody body = out -> {
+            try {
+                bookingSearchService.exportBookings(filter, booking -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(booking));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // Client went away; stops the query
+            }
+        };
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"spas-bookings.ndjson\"")
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
     /**
      * Feature 23: View customers by membership status
      */
@@ -151,4 +305,54 @@ public class AdminController extends BaseController {
             userService.getUsersByMembershipId(membershipId)
         );
     }
+
+    /**
+     * Starts a JDK Flight Recorder recording of live traffic.
+     * Edge Case: Service logic rejects a second concurrent recording.
+     */
+    @PostMapping("/recordings/start")
+    public ResponseEntity<RecordingView> startRecording(HttpSession session) {
+        checkRole(session, Role.ADMIN);
+        return new ResponseEntity<>(flightRecorderService.start(), HttpStatus.CREATED);
+    }
+
+    /**
+     * Stops the current recording (it can still be dumped afterwards).
+     */
+    @PostMapping("/recordings/stop")
+    public ResponseEntity<RecordingView> stopRecording(HttpSession session) {
+        checkRole(session, Role.ADMIN);
+        return ResponseEntity.ok(flightRecorderService.stop());
+    }
+
+    /**
+     * Current recording state.
+     */
+    @GetMapping("/recordings")
+    public ResponseEntity<RecordingView> getRecording(HttpSession session) {
+        checkRole(session, Role.ADMIN);
+        return ResponseEntity.ok(flightRecorderService.getStatus());
+    }
+
+    /**
+     * Downloads the current recording as a .jfr file (open with JDK Mission Control).
+     */
+    @GetMapping("/recordings/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording(
+        HttpSession session
+    ) {
+        checkRole(session, Role.ADMIN);
+        Path file = flightRecorderService.dump();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"spas-recording.jfr\"")
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .body(body);
+    }
 }
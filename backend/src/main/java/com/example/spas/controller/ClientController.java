@@ -6,6 +6,7 @@ import com.example.spas.model.enums.BookingStatus;
 import com.example.spas.model.enums.Role;
 import com.example.spas.service.BookingService;
 import com.example.spas.service.OfferService;
+import com.example.spas.service.SpaScheduleService;
 import com.example.spas.service.SpaService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
@@ -21,15 +22,18 @@ public class ClientController extends BaseController {
     private final SpaService spaService;
     private final OfferService offerService;
     private final BookingService bookingService;
+    private final SpaScheduleService spaScheduleService;
 
     public ClientController(
         SpaService spaService,
         OfferService offerService,
-        BookingService bookingService
+        BookingService bookingService,
+        SpaScheduleService spaScheduleService
     ) {
         this.spaService = spaService;
         this.offerService = offerService;
         this.bookingService = bookingService;
+        this.spaScheduleService = spaScheduleService;
     }
 
     /**
@@ -54,6 +58,22 @@ public class ClientController extends BaseController {
         return new ResponseEntity<>(newSpa, HttpStatus.CREATED);
     }
 
+    /**
+     * Feature 10: Set a spa's opening hours and date exceptions
+     * Edge Case: Service logic checks if client owns the spa.
+     */
+    @PutMapping("/spas/{spaId}/opening-hours")
+    public ResponseEntity<OpeningHoursView> updateOpeningHours(
+        HttpSession session,
+        @PathVariable Long spaId,
+        @Valid @RequestBody OpeningHoursRequest request
+    ) {
+        User user = checkRole(session, Role.CLIENT);
+        return ResponseEntity.ok(
+            spaScheduleService.updateOpeningHours(spaId, request, user.getId())
+        );
+    }
+
     /**
      * Feature 11: Add service to a spa
      * Edge Case: Service logic checks if client owns the spa and if spa is APPROVED.
@@ -1,7 +1,10 @@
 package com.example.spas.controller;
 
+import com.example.spas.dto.OpeningHoursView;
 import com.example.spas.dto.SpaDetailView;
 import com.example.spas.dto.SpaView;
+import com.example.spas.service.SingleFlight;
+import com.example.spas.service.SpaScheduleService;
 import com.example.spas.service.SpaService;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
@@ -12,9 +15,13 @@ import org.springframework.web.bind.annotation.*;
 public class PublicController {
 
     private final SpaService spaService;
+    private final SingleFlight singleFlight;
+    private final SpaScheduleService spaScheduleService;
 
-    public PublicController(SpaService spaService) {
+    public PublicController(SpaService spaService, SingleFlight singleFlight, SpaScheduleService spaScheduleService) {
         this.spaService = spaService;
+        this.singleFlight = singleFlight;
+        this.spaScheduleService = spaScheduleService;
     }
 
     /**
@@ -22,7 +29,9 @@ public class PublicController {
      */
     @GetMapping("/spas")
     public ResponseEntity<List<SpaView>> getAllSpas() {
-        return ResponseEntity.ok(spaService.findAllApprovedSpas());
+        return ResponseEntity.ok(
+            singleFlight.execute("approvedSpas", "all", spaService::findAllApprovedSpas)
+        );
     }
 
     /**
@@ -30,17 +39,30 @@ public class PublicController {
      */
     @GetMapping("/spas/search")
     public ResponseEntity<List<SpaView>> searchSpas(@RequestParam String name) {
-        return ResponseEntity.ok(spaService.findSpasByName(name));
+        return ResponseEntity.ok(
+            singleFlight.execute("spaSearch", name, () -> spaService.findSpasByName(name))
+        );
     }
 
     /**
      * Feature 5: View a single spa's details
      * Edge Case: Service logic throws 404 if spaId is not found.
+     * Concurrent requests for the same spa share one load (hot spa pages).
      */
     @GetMapping("/spas/{spaId}")
     public ResponseEntity<SpaDetailView> getSpaDetails(
         @PathVariable Long spaId
     ) {
-        return ResponseEntity.ok(spaService.getSpaDetails(spaId));
+        return ResponseEntity.ok(
+            singleFlight.execute("spaDetails", spaId, () -> spaService.getSpaDetails(spaId))
+        );
+    }
+
+    /**
+     * Feature 10: A spa's opening hours and upcoming closures
+     */
+    @GetMapping("/spas/{spaId}/opening-hours")
+    public ResponseEntity<OpeningHoursView> getOpeningHours(@PathVariable Long spaId) {
+        return ResponseEntity.ok(spaScheduleService.getOpeningHours(spaId));
     }
 }
@@ -6,7 +6,9 @@ import com.example.spas.model.enums.Role;
 import com.example.spas.service.*;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,19 +22,40 @@ public class UserController extends BaseController {
     private final BookingService bookingService;
     private final ReviewService reviewService;
     private final MembershipService membershipService;
+    private final IdempotentBookingService idempotentBookingService;
+    private final SingleFlight singleFlight;
+    private final ReservationHoldService reservationHoldService;
+    private final WaitlistService waitlistService;
+    private final SlotSearchService slotSearchService;
+    private final PricingService pricingService;
+    private final LoyaltyService loyaltyService;
 
     public UserController(
         UserService userService,
         SpaService spaService,
         BookingService bookingService,
         ReviewService reviewService,
-        MembershipService membershipService
+        MembershipService membershipService,
+        IdempotentBookingService idempotentBookingService,
+        SingleFlight singleFlight,
+        ReservationHoldService reservationHoldService,
+        WaitlistService waitlistService,
+        SlotSearchService slotSearchService,
+        PricingService pricingService,
+        LoyaltyService loyaltyService
     ) {
         this.userService = userService;
         this.spaService = spaService;
         this.bookingService = bookingService;
         this.reviewService = reviewService;
         this.membershipService = membershipService;
+        this.idempotentBookingService = idempotentBookingService;
+        this.singleFlight = singleFlight;
+        this.reservationHoldService = reservationHoldService;
+        this.waitlistService = waitlistService;
+        this.slotSearchService = slotSearchService;
+        this.pricingService = pricingService;
+        this.loyaltyService = loyaltyService;
     }
 
     /**
@@ -58,25 +81,114 @@ public class UserController extends BaseController {
     @PostMapping("/bookings")
     public ResponseEntity<BookingView> createBooking(
         HttpSession session,
-        @Valid @RequestBody BookingRequest request
+        @Valid @RequestBody BookingRequest request,
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
         User user = checkRole(session, Role.USER); // Only USERS can book
-        BookingView newBooking = bookingService.createBooking(
+        // A retry with the same Idempotency-Key returns the original booking
+        BookingView newBooking = idempotentBookingService.createBooking(
             request,
-            user.getId()
+            user.getId(),
+            idempotencyKey
         );
         return new ResponseEntity<>(newBooking, HttpStatus.CREATED);
     }
 
+    /**
+     * Feature 4 (recurring): Book a service weekly or every other week
+     * Edge Case: All occurrences are booked, or none if any one is taken,
+     * closed, or overlaps another of the user's bookings.
+     */
+    @PostMapping("/bookings/series")
+    public ResponseEntity<BookingSeriesView> createBookingSeries(
+        HttpSession session,
+        @Valid @RequestBody RecurringBookingRequest request
+    ) {
+        User user = checkRole(session, Role.USER); // Only USERS can book
+        return new ResponseEntity<>(
+            bookingService.createSeries(request, user.getId()),
+            HttpStatus.CREATED
+        );
+    }
+
+    /**
+     * Feature 4 (checkout holds): Hold a slot for a few minutes before booking
+     * Edge Case: Service logic rejects booked or already-held slots.
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<HoldView> createHold(
+        HttpSession session,
+        @Valid @RequestBody HoldRequest request
+    ) {
+        User user = checkRole(session, Role.USER); // Only USERS can book
+        return new ResponseEntity<>(
+            reservationHoldService.createHold(request, user.getId()),
+            HttpStatus.CREATED
+        );
+    }
+
+    /**
+     * Feature 4 (checkout holds): Release a hold early
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(
+        HttpSession session,
+        @PathVariable Long holdId
+    ) {
+        User user = checkRole(session, Role.USER);
+        reservationHoldService.releaseHold(holdId, user.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Feature 9 (waitlist): Queue for a taken slot
+     * Edge Case: Service logic refuses free slots and duplicate entries.
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistView> joinWaitlist(
+        HttpSession session,
+        @Valid @RequestBody WaitlistRequest request
+    ) {
+        User user = checkRole(session, Role.USER);
+        return new ResponseEntity<>(
+            waitlistService.joinWaitlist(request, user.getId()),
+            HttpStatus.CREATED
+        );
+    }
+
+    /**
+     * Feature 9 (waitlist): My waitlist entries, including open offers to book
+     */
+    @GetMapping("/waitlist")
+    public ResponseEntity<List<WaitlistView>> getMyWaitlist(HttpSession session) {
+        User user = checkRole(session, Role.USER);
+        return ResponseEntity.ok(waitlistService.getMyWaitlist(user.getId()));
+    }
+
+    /**
+     * Feature 9 (waitlist): Leave a waitlist
+     */
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<Void> leaveWaitlist(
+        HttpSession session,
+        @PathVariable Long entryId
+    ) {
+        User user = checkRole(session, Role.USER);
+        waitlistService.leaveWaitlist(entryId, user.getId());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Feature 6: View my bookings
+     * ?includeHistory=true also returns old bookings from the archive.
      */
     @GetMapping("/bookings")
     public ResponseEntity<List<BookingView>> getMyBookings(
-        HttpSession session
+        HttpSession session,
+        @RequestParam(defaultValue = "false") boolean includeHistory
     ) {
         User user = checkRole(session, Role.USER);
-        return ResponseEntity.ok(bookingService.getUserBookings(user.getId()));
+        return ResponseEntity.ok(bookingService.getUserBookings(user.getId(), includeHistory));
     }
 
     /**
@@ -99,6 +211,8 @@ public class UserController extends BaseController {
 
     /**
      * Feature 9: Check Availability
+     * The result does not depend on the caller, so concurrent checks for the
+     * same service and day share one load.
      */
     @PostMapping("/services/{serviceId}/availability")
     public ResponseEntity<AvailabilityResponse> checkAvailability(
@@ -108,10 +222,43 @@ public class UserController extends BaseController {
     ) {
         checkRole(session, Role.USER); // Only users check availability
         return ResponseEntity.ok(
-            bookingService.checkAvailability(serviceId, request.getDate())
+            singleFlight.execute(
+                "availability",
+                serviceId + "@" + request.getDate(),
+                () -> bookingService.checkAvailability(serviceId, request.getDate())
+            )
         );
     }
 
+    /**
+     * Feature 9: Earliest free slots across all spas, e.g. ?name=massage
+     * Edge Case: Service logic limits the window to 14 days and 50 results.
+     */
+    @GetMapping("/slots/next-available")
+    public ResponseEntity<List<NextSlotView>> findNextAvailableSlots(
+        HttpSession session,
+        @RequestParam(required = false) String name,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        checkRole(session, Role.USER);
+        return ResponseEntity.ok(slotSearchService.findEarliestSlots(name, from, to, limit));
+    }
+
+    /**
+     * Feature 22: My prices for a list of services, after membership discount
+     * Edge Case: Service logic refuses unknown services and over 100 ids.
+     */
+    @PostMapping("/quotes")
+    public ResponseEntity<List<PriceQuote>> quotePrices(
+        HttpSession session,
+        @Valid @RequestBody QuoteRequest request
+    ) {
+        User user = checkRole(session, Role.USER);
+        return ResponseEntity.ok(pricingService.quote(request.getServiceIds(), user.getId()));
+    }
+
     /**
      * Feature 8: Submit review
      * Edge Case: Service logic checks that user had a CONFIRMED booking
@@ -173,6 +320,15 @@ public class UserController extends BaseController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Feature 25: My loyalty points balance and latest ledger lines
+     */
+    @GetMapping("/loyalty")
+    public ResponseEntity<LoyaltyView> getLoyalty(HttpSession session) {
+        User user = checkRole(session, Role.USER);
+        return ResponseEntity.ok(loyaltyService.getLoyalty(user.getId()));
+    }
+
     /**
      * Feature 22: Subscribe to membership
      * Edge Case: Service logic checks if user is already subscribed.
@@ -185,11 +341,25 @@ public class UserController extends BaseController {
         User user = checkRole(session, Role.USER);
         UserView updatedUser = membershipService.subscribeToMembership(
             user.getId(),
-            request.getMembershipId()
+            request.getMembershipId(),
+            request.getAutoRenew()
         );
         return ResponseEntity.ok(updatedUser);
     }
 
+    /**
+     * Feature 22: Turn membership renewal on or off
+     * Edge Case: Service logic checks that the membership is active.
+     */
+    @PutMapping("/membership/auto-renew")
+    public ResponseEntity<UserView> setMembershipAutoRenew(
+        HttpSession session,
+        @RequestParam boolean enabled
+    ) {
+        User user = checkRole(session, Role.USER);
+        return ResponseEntity.ok(membershipService.setAutoRenew(user.getId(), enabled));
+    }
+
     /**
      * Feature 22: Reject/Cancel membership
      * Edge Case: Service logic checks if user has a membership to cancel.
@@ -0,0 +1,94 @@
+package com.example.spas.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.model.enums.BookingStatus;
+import com.example.spas.model.enums.Role;
+
+/**
+ * Counts for the admin dashboard. Every enum value is present (0 if none);
+ * users without a membership status are counted under "NONE".
+ */
+public class AdminStatsView {
+
+    private LocalDateTime generatedAt; // Counts may be up to app.admin-stats.ttl old
+    private Map<Role, Long> usersByRole;
+    private Map<String, Long> usersByMembershipStatus;
+    private Map<String, Long> usersByMembershipPlan; // Plan name -> users on it
+    private Map<ApprovalStatus, Long> spasByApprovalStatus;
+    private Map<ApprovalStatus, Long> servicesByApprovalStatus;
+    private Map<BookingStatus, Long> bookingsByStatus;
+
+    // Constructors
+    public AdminStatsView() {
+    }
+
+    public AdminStatsView(LocalDateTime generatedAt, Map<Role, Long> usersByRole, Map<String, Long> usersByMembershipStatus, Map<String, Long> usersByMembershipPlan, Map<ApprovalStatus, Long> spasByApprovalStatus, Map<ApprovalStatus, Long> servicesByApprovalStatus, Map<BookingStatus, Long> bookingsByStatus) {
+        this.generatedAt = generatedAt;
+        this.usersByRole = usersByRole;
+        this.usersByMembershipStatus = usersByMembershipStatus;
+        this.usersByMembershipPlan = usersByMembershipPlan;
+        this.spasByApprovalStatus = spasByApprovalStatus;
+        this.servicesByApprovalStatus = servicesByApprovalStatus;
+        this.bookingsByStatus = bookingsByStatus;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public Map<Role, Long> getUsersByRole() {
+        return usersByRole;
+    }
+
+    public void setUsersByRole(Map<Role, Long> usersByRole) {
+        this.usersByRole = usersByRole;
+    }
+
+    public Map<String, Long> getUsersByMembershipStatus() {
+        return usersByMembershipStatus;
+    }
+
+    public void setUsersByMembershipStatus(Map<String, Long> usersByMembershipStatus) {
+        this.usersByMembershipStatus = usersByMembershipStatus;
+    }
+
+    public Map<String, Long> getUsersByMembershipPlan() {
+        return usersByMembershipPlan;
+    }
+
+    public void setUsersByMembershipPlan(Map<String, Long> usersByMembershipPlan) {
+        this.usersByMembershipPlan = usersByMembershipPlan;
+    }
+
+    public Map<ApprovalStatus, Long> getSpasByApprovalStatus() {
+        return spasByApprovalStatus;
+    }
+
+    public void setSpasByApprovalStatus(Map<ApprovalStatus, Long> spasByApprovalStatus) {
+        this.spasByApprovalStatus = spasByApprovalStatus;
+    }
+
+    public Map<ApprovalStatus, Long> getServicesByApprovalStatus() {
+        return servicesByApprovalStatus;
+    }
+
+    public void setServicesByApprovalStatus(Map<ApprovalStatus, Long> servicesByApprovalStatus) {
+        this.servicesByApprovalStatus = servicesByApprovalStatus;
+    }
+
+    public Map<BookingStatus, Long> getBookingsByStatus() {
+        return bookingsByStatus;
+    }
+
+    public void setBookingsByStatus(Map<BookingStatus, Long> bookingsByStatus) {
+        this.bookingsByStatus = bookingsByStatus;
+    }
+}
\ No newline at end of file
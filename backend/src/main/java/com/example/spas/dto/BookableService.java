@@ -0,0 +1,61 @@
+package com.example.spas.dto;
+
+/**
+ * A bookable service with the spa fields slot search needs, read with a
+ * constructor query instead of loading Service and Spa entities.
+ */
+public class BookableService {
+
+    private final Long serviceId;
+    private final String serviceName;
+    private final Double price;
+    private final Integer durationInMinutes;
+    private final Integer capacity;
+    private final Long spaId;
+    private final String spaName;
+    private final Integer resourceCount;
+
+    public BookableService(Long serviceId, String serviceName, Double price, Integer durationInMinutes, Integer capacity, Long spaId, String spaName, Integer resourceCount) {
+        this.serviceId = serviceId;
+        this.serviceName = serviceName;
+        this.price = price;
+        this.durationInMinutes = durationInMinutes;
+        this.capacity = capacity;
+        this.spaId = spaId;
+        this.spaName = spaName;
+        this.resourceCount = resourceCount;
+    }
+
+    // Getters
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public Integer getDurationInMinutes() {
+        return durationInMinutes;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public Long getSpaId() {
+        return spaId;
+    }
+
+    public String getSpaName() {
+        return spaName;
+    }
+
+    public Integer getResourceCount() {
+        return resourceCount;
+    }
+}
\ No newline at end of file
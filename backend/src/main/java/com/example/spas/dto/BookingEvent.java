@@ -0,0 +1,121 @@
+package com.example.spas.dto;
+
+import com.example.spas.model.enums.BookingEventType;
+import com.example.spas.model.enums.BookingStatus;
+import java.time.LocalDateTime;
+
+/**
+ * A booking lifecycle event as delivered to BookingEventHandlers.
+ * Stored as the JSON payload of an outbox row; eventId is the row id.
+ */
+public class BookingEvent {
+
+    private Long eventId;
+    private BookingEventType type;
+    private LocalDateTime occurredAt;
+
+    private Long bookingId;
+    private Long customerId;
+    private Long spaId;
+    private Long serviceId;
+    private LocalDateTime bookingTime;
+    private BookingStatus status;
+    private Double finalPrice;
+
+    // Constructors
+    public BookingEvent() {
+    }
+
+    public BookingEvent(BookingEventType type, LocalDateTime occurredAt, Long bookingId, Long customerId, Long spaId, Long serviceId, LocalDateTime bookingTime, BookingStatus status, Double finalPrice) {
+        this.type = type;
+        this.occurredAt = occurredAt;
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.spaId = spaId;
+        this.serviceId = serviceId;
+        this.bookingTime = bookingTime;
+        this.status = status;
+        this.finalPrice = finalPrice;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public BookingEventType getType() {
+        return type;
+    }
+
+    public void setType(BookingEventType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getSpaId() {
+        return spaId;
+    }
+
+    public void setSpaId(Long spaId) {
+        this.spaId = spaId;
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public LocalDateTime getBookingTime() {
+        return bookingTime;
+    }
+
+    public void setBookingTime(LocalDateTime bookingTime) {
+        this.bookingTime = bookingTime;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public Double getFinalPrice() {
+        return finalPrice;
+    }
+
+    public void setFinalPrice(Double finalPrice) {
+        this.finalPrice = finalPrice;
+    }
+}
\ No newline at end of file
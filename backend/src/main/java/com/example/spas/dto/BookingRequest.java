@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public class BookingRequest {
 
@@ -14,6 +15,10 @@ public class BookingRequest {
     @Future(message = "Booking time must be in the future")
     private LocalDateTime bookingTime;
 
+    // Optional
+    @Size(max = 40, message = "Promo code cannot be longer than 40 characters")
+    private String promoCode;
+
     // Constructors
     public BookingRequest() {
     }
@@ -39,4 +44,12 @@ public class BookingRequest {
     public void setBookingTime(LocalDateTime bookingTime) {
         this.bookingTime = bookingTime;
     }
+
+    public String getPromoCode() {
+        return promoCode;
+    }
+
+    public void setPromoCode(String promoCode) {
+        this.promoCode = promoCode;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.example.spas.dto;
+
+import com.example.spas.model.enums.BookingStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Criteria of the admin booking explorer; every field is optional.
+ */
+public class BookingSearchFilter {
+
+    private Long spaId;
+    private Long serviceId;
+    private Long customerId;
+    private BookingStatus status;
+    private LocalDateTime from; // Booking time, inclusive
+    private LocalDateTime to;   // Booking time, exclusive
+
+    // Constructors
+    public BookingSearchFilter() {
+    }
+
+    public BookingSearchFilter(Long spaId, Long serviceId, Long customerId, BookingStatus status, LocalDateTime from, LocalDateTime to) {
+        this.spaId = spaId;
+        this.serviceId = serviceId;
+        this.customerId = customerId;
+        this.status = status;
+        this.from = from;
+        this.to = to;
+    }
+
+    // Getters and Setters
+    public Long getSpaId() {
+        return spaId;
+    }
+
+    public void setSpaId(Long spaId) {
+        this.spaId = spaId;
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.spas.dto;
+
+import java.util.List;
+
+import com.example.spas.model.enums.RecurrenceFrequency;
+
+public class BookingSeriesView {
+
+    private Long seriesId;
+    private RecurrenceFrequency frequency;
+    private List<BookingView> bookings;
+
+    // Constructors
+    public BookingSeriesView() {
+    }
+
+    public BookingSeriesView(Long seriesId, RecurrenceFrequency frequency, List<BookingView> bookings) {
+        this.seriesId = seriesId;
+        this.frequency = frequency;
+        this.bookings = bookings;
+    }
+
+    // Getters and Setters
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public List<BookingView> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<BookingView> bookings) {
+        this.bookings = bookings;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.spas.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+
+public class HoldRequest {
+
+    @NotNull(message = "Service ID cannot be null")
+    private Long serviceId;
+
+    @NotNull(message = "Slot time cannot be null")
+    @Future(message = "Slot time must be in the future")
+    private LocalDateTime slotTime;
+
+    // Constructors
+    public HoldRequest() {
+    }
+
+    public HoldRequest(Long serviceId, LocalDateTime slotTime) {
+        this.serviceId = serviceId;
+        this.slotTime = slotTime;
+    }
+
+    // Getters and Setters
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public LocalDateTime getSlotTime() {
+        return slotTime;
+    }
+
+    public void setSlotTime(LocalDateTime slotTime) {
+        this.slotTime = slotTime;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.spas.dto;
+
+import java.time.LocalDateTime;
+
+public class HoldView {
+
+    private Long id;
+    private Long serviceId;
+    private LocalDateTime slotTime;
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public HoldView() {
+    }
+
+    public HoldView(Long id, Long serviceId, LocalDateTime slotTime, LocalDateTime expiresAt) {
+        this.id = id;
+        this.serviceId = serviceId;
+        this.slotTime = slotTime;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public LocalDateTime getSlotTime() {
+        return slotTime;
+    }
+
+    public void setSlotTime(LocalDateTime slotTime) {
+        this.slotTime = slotTime;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.spas.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. Pass nextCursor back as "after" to
+ * get the next page; it is null on the last page.
+ */
+public class KeysetPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    // Constructors
+    public KeysetPage() {
+    }
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
\ No newline at end of file
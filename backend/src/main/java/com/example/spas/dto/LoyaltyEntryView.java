@@ -0,0 +1,67 @@
+package com.example.spas.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.spas.model.enums.LoyaltyReason;
+
+public class LoyaltyEntryView {
+
+    private Long id;
+    private Long bookingId;
+    private int points;
+    private LoyaltyReason reason;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public LoyaltyEntryView() {
+    }
+
+    public LoyaltyEntryView(Long id, Long bookingId, int points, LoyaltyReason reason, LocalDateTime createdAt) {
+        this.id = id;
+        this.bookingId = bookingId;
+        this.points = points;
+        this.reason = reason;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public void setPoints(int points) {
+        this.points = points;
+    }
+
+    public LoyaltyReason getReason() {
+        return reason;
+    }
+
+    public void setReason(LoyaltyReason reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
\ No newline at end of file
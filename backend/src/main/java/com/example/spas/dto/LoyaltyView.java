@@ -0,0 +1,45 @@
+package com.example.spas.dto;
+
+import java.util.List;
+
+public class LoyaltyView {
+
+    private Long customerId;
+    private long balance;
+    private List<LoyaltyEntryView> recentEntries; // Newest first, at most 10
+
+    // Constructors
+    public LoyaltyView() {
+    }
+
+    public LoyaltyView(Long customerId, long balance, List<LoyaltyEntryView> recentEntries) {
+        this.customerId = customerId;
+        this.balance = balance;
+        this.recentEntries = recentEntries;
+    }
+
+    // Getters and Setters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public void setBalance(long balance) {
+        this.balance = balance;
+    }
+
+    public List<LoyaltyEntryView> getRecentEntries() {
+        return recentEntries;
+    }
+
+    public void setRecentEntries(List<LoyaltyEntryView> recentEntries) {
+        this.recentEntries = recentEntries;
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.spas.dto;
 public class MembershipSubscribeRequest {
 
     private Long membershipId;
+    private Boolean autoRenew; // Optional, defaults to true
 
     // Constructors
     public MembershipSubscribeRequest() {
@@ -20,4 +21,12 @@ public class MembershipSubscribeRequest {
     public void setMembershipId(Long membershipId) {
         this.membershipId = membershipId;
     }
+
+    public Boolean getAutoRenew() {
+        return autoRenew;
+    }
+
+    public void setAutoRenew(Boolean autoRenew) {
+        this.autoRenew = autoRenew;
+    }
 }
\ No newline at end of file
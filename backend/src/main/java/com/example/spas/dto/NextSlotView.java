@@ -0,0 +1,85 @@
+package com.example.spas.dto;
+
+import java.time.LocalDateTime;
+
+public class NextSlotView {
+
+    private LocalDateTime slotTime;
+    private Long serviceId;
+    private String serviceName;
+    private Double price;
+    private Integer durationInMinutes;
+    private Long spaId;
+    private String spaName;
+
+    // Constructors
+    public NextSlotView() {
+    }
+
+    public NextSlotView(LocalDateTime slotTime, Long serviceId, String serviceName, Double price, Integer durationInMinutes, Long spaId, String spaName) {
+        this.slotTime = slotTime;
+        this.serviceId = serviceId;
+        this.serviceName = serviceName;
+        this.price = price;
+        this.durationInMinutes = durationInMinutes;
+        this.spaId = spaId;
+        this.spaName = spaName;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getSlotTime() {
+        return slotTime;
+    }
+
+    public void setSlotTime(LocalDateTime slotTime) {
+        this.slotTime = slotTime;
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public Integer getDurationInMinutes() {
+        return durationInMinutes;
+    }
+
+    public void setDurationInMinutes(Integer durationInMinutes) {
+        this.durationInMinutes = durationInMinutes;
+    }
+
+    public Long getSpaId() {
+        return spaId;
+    }
+
+    public void setSpaId(Long spaId) {
+        this.spaId = spaId;
+    }
+
+    public String getSpaName() {
+        return spaName;
+    }
+
+    public void setSpaName(String spaName) {
+        this.spaName = spaName;
+    }
+}
\ No newline at end of file
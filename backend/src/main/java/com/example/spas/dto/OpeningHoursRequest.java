@@ -0,0 +1,44 @@
+package com.example.spas.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public class OpeningHoursRequest {
+
+    // Replaces all weekly hours; empty = default hours (09:00-18:00 every day)
+    @NotNull(message = "Weekly hours cannot be null")
+    private List<@Valid OpeningPeriodRequest> weeklyHours = new ArrayList<>();
+
+    // Replaces all date exceptions
+    @NotNull(message = "Exceptions cannot be null")
+    private List<@Valid ScheduleExceptionRequest> exceptions = new ArrayList<>();
+
+    // Constructors
+    public OpeningHoursRequest() {
+    }
+
+    public OpeningHoursRequest(List<OpeningPeriodRequest> weeklyHours, List<ScheduleExceptionRequest> exceptions) {
+        this.weeklyHours = weeklyHours;
+        this.exceptions = exceptions;
+    }
+
+    // Getters and Setters
+    public List<OpeningPeriodRequest> getWeeklyHours() {
+        return weeklyHours;
+    }
+
+    public void setWeeklyHours(List<OpeningPeriodRequest> weeklyHours) {
+        this.weeklyHours = weeklyHours;
+    }
+
+    public List<ScheduleExceptionRequest> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(List<ScheduleExceptionRequest> exceptions) {
+        this.exceptions = exceptions;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.spas.dto;
+
+import java.util.List;
+
+public class OpeningHoursView {
+
+    private Long spaId;
+    private List<OpeningPeriodRequest> weeklyHours;     // Empty = default hours
+    private List<ScheduleExceptionRequest> exceptions;
+
+    // Constructors
+    public OpeningHoursView() {
+    }
+
+    public OpeningHoursView(Long spaId, List<OpeningPeriodRequest> weeklyHours, List<ScheduleExceptionRequest> exceptions) {
+        this.spaId = spaId;
+        this.weeklyHours = weeklyHours;
+        this.exceptions = exceptions;
+    }
+
+    // Getters and Setters
+    public Long getSpaId() {
+        return spaId;
+    }
+
+    public void setSpaId(Long spaId) {
+        this.spaId = spaId;
+    }
+
+    public List<OpeningPeriodRequest> getWeeklyHours() {
+        return weeklyHours;
+    }
+
+    public void setWeeklyHours(List<OpeningPeriodRequest> weeklyHours) {
+        this.weeklyHours = weeklyHours;
+    }
+
+    public List<ScheduleExceptionRequest> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(List<ScheduleExceptionRequest> exceptions) {
+        this.exceptions = exceptions;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.spas.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import jakarta.validation.constraints.NotNull;
+
+public class OpeningPeriodRequest {
+
+    @NotNull(message = "Day of week cannot be null")
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "Opening time cannot be null")
+    private LocalTime opensAt;
+
+    @NotNull(message = "Closing time cannot be null")
+    private LocalTime closesAt; // 00:00 = midnight at the end of the day
+
+    // Constructors
+    public OpeningPeriodRequest() {
+    }
+
+    public OpeningPeriodRequest(DayOfWeek dayOfWeek, LocalTime opensAt, LocalTime closesAt) {
+        this.dayOfWeek = dayOfWeek;
+        this.opensAt = opensAt;
+        this.closesAt = closesAt;
+    }
+
+    // Getters and Setters
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getOpensAt() {
+        return opensAt;
+    }
+
+    public void setOpensAt(LocalTime opensAt) {
+        this.opensAt = opensAt;
+    }
+
+    public LocalTime getClosesAt() {
+        return closesAt;
+    }
+
+    public void setClosesAt(LocalTime closesAt) {
+        this.closesAt = closesAt;
+    }
+}
\ No newline at end of file
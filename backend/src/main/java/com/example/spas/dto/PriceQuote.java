@@ -0,0 +1,43 @@
+package com.example.spas.dto;
+
+public class PriceQuote {
+
+    private Long serviceId;
+    private Double originalPrice;
+    private Double finalPrice; // After the user's membership discount, if any
+
+    // Constructors
+    public PriceQuote() {
+    }
+
+    public PriceQuote(Long serviceId, Double originalPrice, Double finalPrice) {
+        this.serviceId = serviceId;
+        this.originalPrice = originalPrice;
+        this.finalPrice = finalPrice;
+    }
+
+    // Getters and Setters
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public Double getOriginalPrice() {
+        return originalPrice;
+    }
+
+    public void setOriginalPrice(Double originalPrice) {
+        this.originalPrice = originalPrice;
+    }
+
+    public Double getFinalPrice() {
+        return finalPrice;
+    }
+
+    public void setFinalPrice(Double finalPrice) {
+        this.finalPrice = finalPrice;
+    }
+}
\ No newline at end of file
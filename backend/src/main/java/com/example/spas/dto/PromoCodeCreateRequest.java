@@ -0,0 +1,96 @@
+package com.example.spas.dto;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public class PromoCodeCreateRequest {
+
+    @NotEmpty(message = "Code cannot be empty")
+    @Size(max = 40, message = "Code cannot be longer than 40 characters")
+    @Pattern(regexp = "[A-Za-z0-9_-]+", message = "Code can only contain letters, digits, '-' and '_'")
+    private String code;
+
+    private String description;
+
+    @NotNull(message = "Discount cannot be null")
+    @Min(value = 1, message = "Discount must be at least 1")
+    @Max(value = 100, message = "Discount cannot be over 100")
+    private Double discountPercentage;
+
+    @NotNull(message = "Maximum redemptions cannot be null")
+    @Min(value = 1, message = "Maximum redemptions must be at least 1")
+    private Integer maxRedemptions;
+
+    private LocalDateTime validFrom;
+
+    private LocalDateTime validUntil;
+
+    // Constructors
+    public PromoCodeCreateRequest() {
+    }
+
+    public PromoCodeCreateRequest(String code, String description, Double discountPercentage, Integer maxRedemptions,
+                                  LocalDateTime validFrom, LocalDateTime validUntil) {
+        this.code = code;
+        this.description = description;
+        this.discountPercentage = discountPercentage;
+        this.maxRedemptions = maxRedemptions;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+    }
+
+    // Getters and Setters
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getDiscountPercentage() {
+        return discountPercentage;
+    }
+
+    public void setDiscountPercentage(Double discountPercentage) {
+        this.discountPercentage = discountPercentage;
+    }
+
+    public Integer getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public void setMaxRedemptions(Integer maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+    }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDateTime getValidUntil() {
+        return validUntil;
+    }
+
+    public void setValidUntil(LocalDateTime validUntil) {
+        this.validUntil = validUntil;
+    }
+}
\ No newline at end of file
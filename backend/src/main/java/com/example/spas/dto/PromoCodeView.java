@@ -0,0 +1,106 @@
+package com.example.spas.dto;
+
+import java.time.LocalDateTime;
+
+public class PromoCodeView {
+
+    private Long id;
+    private String code;
+    private String description;
+    private Double discountPercentage;
+    private int maxRedemptions;
+    private int redeemed;
+    private LocalDateTime validFrom;
+    private LocalDateTime validUntil;
+    private boolean active;
+
+    // Constructors
+    public PromoCodeView() {
+    }
+
+    public PromoCodeView(Long id, String code, String description, Double discountPercentage, int maxRedemptions,
+                         int redeemed, LocalDateTime validFrom, LocalDateTime validUntil, boolean active) {
+        this.id = id;
+        this.code = code;
+        this.description = description;
+        this.discountPercentage = discountPercentage;
+        this.maxRedemptions = maxRedemptions;
+        this.redeemed = redeemed;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+        this.active = active;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getDiscountPercentage() {
+        return discountPercentage;
+    }
+
+    public void setDiscountPercentage(Double discountPercentage) {
+        this.discountPercentage = discountPercentage;
+    }
+
+    public int getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public void setMaxRedemptions(int maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+    }
+
+    public int getRedeemed() {
+        return redeemed;
+    }
+
+    public void setRedeemed(int redeemed) {
+        this.redeemed = redeemed;
+    }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDateTime getValidUntil() {
+        return validUntil;
+    }
+
+    public void setValidUntil(LocalDateTime validUntil) {
+        this.validUntil = validUntil;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.spas.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class QuoteRequest {
+
+    @NotEmpty(message = "Service IDs cannot be empty")
+    @Size(max = 100, message = "At most 100 services can be quoted at once")
+    private List<@NotNull(message = "Service ID cannot be null") Long> serviceIds;
+
+    // Constructors
+    public QuoteRequest() {
+    }
+
+    public QuoteRequest(List<Long> serviceIds) {
+        this.serviceIds = serviceIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getServiceIds() {
+        return serviceIds;
+    }
+
+    public void setServiceIds(List<Long> serviceIds) {
+        this.serviceIds = serviceIds;
+    }
+}
\ No newline at end of file
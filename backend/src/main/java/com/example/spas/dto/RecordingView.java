@@ -0,0 +1,76 @@
+package com.example.spas.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class RecordingView {
+
+    private long id;
+    private String name;
+    private String state;
+    private String settings;
+    private Instant startTime;
+    private Duration duration;
+
+    // Constructors
+    public RecordingView() {
+    }
+
+    public RecordingView(long id, String name, String state, String settings, Instant startTime, Duration duration) {
+        this.id = id;
+        this.name = name;
+        this.state = state;
+        this.settings = settings;
+        this.startTime = startTime;
+        this.duration = duration;
+    }
+
+    // Getters and Setters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+}
\ No newline at end of file
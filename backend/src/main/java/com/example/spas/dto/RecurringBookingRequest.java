@@ -0,0 +1,72 @@
+package com.example.spas.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.spas.model.enums.RecurrenceFrequency;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class RecurringBookingRequest {
+
+    @NotNull(message = "Service ID cannot be null")
+    private Long serviceId;
+
+    @NotNull(message = "First booking time cannot be null")
+    @Future(message = "First booking time must be in the future")
+    private LocalDateTime firstBookingTime;
+
+    @NotNull(message = "Frequency cannot be null")
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 2, message = "A series needs at least 2 occurrences")
+    @Max(value = 26, message = "A series can have at most 26 occurrences")
+    private int occurrences;
+
+    // Constructors
+    public RecurringBookingRequest() {
+    }
+
+    public RecurringBookingRequest(Long serviceId, LocalDateTime firstBookingTime,
+                                   RecurrenceFrequency frequency, int occurrences) {
+        this.serviceId = serviceId;
+        this.firstBookingTime = firstBookingTime;
+        this.frequency = frequency;
+        this.occurrences = occurrences;
+    }
+
+    // Getters and Setters
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public LocalDateTime getFirstBookingTime() {
+        return firstBookingTime;
+    }
+
+    public void setFirstBookingTime(LocalDateTime firstBookingTime) {
+        this.firstBookingTime = firstBookingTime;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(int occurrences) {
+        this.occurrences = occurrences;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.spas.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import jakarta.validation.constraints.NotNull;
+
+public class ScheduleExceptionRequest {
+
+    @NotNull(message = "Date cannot be null")
+    private LocalDate date;
+
+    // Leave both empty to close for the whole day
+    private LocalTime opensAt;
+    private LocalTime closesAt;
+
+    private String reason;
+
+    // Constructors
+    public ScheduleExceptionRequest() {
+    }
+
+    public ScheduleExceptionRequest(LocalDate date, LocalTime opensAt, LocalTime closesAt, String reason) {
+        this.date = date;
+        this.opensAt = opensAt;
+        this.closesAt = closesAt;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalTime getOpensAt() {
+        return opensAt;
+    }
+
+    public void setOpensAt(LocalTime opensAt) {
+        this.opensAt = opensAt;
+    }
+
+    public LocalTime getClosesAt() {
+        return closesAt;
+    }
+
+    public void setClosesAt(LocalTime closesAt) {
+        this.closesAt = closesAt;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
\ No newline at end of file
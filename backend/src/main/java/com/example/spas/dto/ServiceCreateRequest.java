@@ -18,6 +18,10 @@ public class ServiceCreateRequest {
     @NotNull(message = "Duration cannot be null")
     @Min(value = 1, message = "Duration must be at least 1 minute")
     private Integer durationInMinutes;
+
+    // Optional: concurrent bookings per slot (defaults to 1)
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
     // Constructors
     public ServiceCreateRequest() {
     }
@@ -61,4 +65,12 @@ public class ServiceCreateRequest {
     public void setDurationInMinutes(Integer durationInMinutes) {
         this.durationInMinutes = durationInMinutes;
     }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.spas.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 
 public class SpaCreateRequest {
@@ -11,6 +12,10 @@ public class SpaCreateRequest {
     private String address;
     private String description;
 
+    // Optional: therapists/rooms shared by all services per slot (default: no limit)
+    @Min(value = 1, message = "Resource count must be at least 1")
+    private Integer resourceCount;
+
     // Constructors
     public SpaCreateRequest() {
     }
@@ -45,4 +50,12 @@ public class SpaCreateRequest {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Integer getResourceCount() {
+        return resourceCount;
+    }
+
+    public void setResourceCount(Integer resourceCount) {
+        this.resourceCount = resourceCount;
+    }
 }
\ No newline at end of file
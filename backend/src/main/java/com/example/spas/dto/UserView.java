@@ -1,5 +1,7 @@
 package com.example.spas.dto;
 
+import java.time.LocalDateTime;
+
 import com.example.spas.model.enums.MembershipStatus;
 import com.example.spas.model.enums.Role;
 
@@ -13,6 +15,8 @@ public class UserView {
     private Role role;
     private String membershipName; // From the associated Membership
     private MembershipStatus membershipStatus;
+    private LocalDateTime membershipPeriodEnd; // Renews or expires then
+    private boolean membershipAutoRenew;
 
     // Constructors
     public UserView() {
@@ -29,6 +33,12 @@ public class UserView {
         this.membershipStatus = membershipStatus;
     }
 
+    public UserView(Long id, String email, String firstName, String lastName, String phone, Role role, String membershipName, MembershipStatus membershipStatus, LocalDateTime membershipPeriodEnd, boolean membershipAutoRenew) {
+        this(id, email, firstName, lastName, phone, role, membershipName, membershipStatus);
+        this.membershipPeriodEnd = membershipPeriodEnd;
+        this.membershipAutoRenew = membershipAutoRenew;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -93,4 +103,20 @@ public class UserView {
     public void setMembershipStatus(MembershipStatus membershipStatus) {
         this.membershipStatus = membershipStatus;
     }
+
+    public LocalDateTime getMembershipPeriodEnd() {
+        return membershipPeriodEnd;
+    }
+
+    public void setMembershipPeriodEnd(LocalDateTime membershipPeriodEnd) {
+        this.membershipPeriodEnd = membershipPeriodEnd;
+    }
+
+    public boolean isMembershipAutoRenew() {
+        return membershipAutoRenew;
+    }
+
+    public void setMembershipAutoRenew(boolean membershipAutoRenew) {
+        this.membershipAutoRenew = membershipAutoRenew;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.example.spas.dto;
+
+import com.example.spas.model.enums.WaitlistStatus;
+import java.time.LocalDateTime;
+
+public class WaitlistView {
+
+    private Long id;
+    private Long serviceId;
+    private LocalDateTime slotTime;
+    private WaitlistStatus status;
+    private Long position;          // People ahead in the queue (only while WAITING)
+    private Long holdId;            // Set while OFFERED: book before offerExpiresAt
+    private LocalDateTime offerExpiresAt;
+
+    // Constructors
+    public WaitlistView() {
+    }
+
+    public WaitlistView(Long id, Long serviceId, LocalDateTime slotTime, WaitlistStatus status, Long position, Long holdId, LocalDateTime offerExpiresAt) {
+        this.id = id;
+        this.serviceId = serviceId;
+        this.slotTime = slotTime;
+        this.status = status;
+        this.position = position;
+        this.holdId = holdId;
+        this.offerExpiresAt = offerExpiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public LocalDateTime getSlotTime() {
+        return slotTime;
+    }
+
+    public void setSlotTime(LocalDateTime slotTime) {
+        this.slotTime = slotTime;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public Long getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(Long holdId) {
+        this.holdId = holdId;
+    }
+
+    public LocalDateTime getOfferExpiresAt() {
+        return offerExpiresAt;
+    }
+
+    public void setOfferExpiresAt(LocalDateTime offerExpiresAt) {
+        this.offerExpiresAt = offerExpiresAt;
+    }
+}
\ No newline at end of file
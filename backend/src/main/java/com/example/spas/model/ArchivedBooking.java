@@ -0,0 +1,112 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.example.spas.model.enums.BookingStatus;
+
+/**
+ * A finished booking moved out of the hot "bookings" table by the archive
+ * job. Read-only: rows are only ever written by that job's INSERT ... SELECT.
+ */
+@Entity
+@Table(name = "bookings_archive")
+public class ArchivedBooking implements Serializable{
+
+    // Same id the booking had in "bookings"
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime bookingTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    @Column(nullable = false)
+    private Double finalPrice;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_user_id", nullable = false)
+    private User customer;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "spa_id", nullable = false)
+    private Spa spa;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    // --- Constructors ---
+
+    public ArchivedBooking() {
+    }
+
+    // --- Getters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getBookingTime() {
+        return bookingTime;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public Double getFinalPrice() {
+        return finalPrice;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public User getCustomer() {
+        return customer;
+    }
+
+    public Spa getSpa() {
+        return spa;
+    }
+
+    public Service getService() {
+        return service;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "ArchivedBooking{" +
+                "id=" + id +
+                ", bookingTime=" + bookingTime +
+                ", status=" + status +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ArchivedBooking that = (ArchivedBooking) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
\ No newline at end of file
@@ -42,6 +42,11 @@ public class Booking implements Serializable{
     @JoinColumn(name = "service_id", nullable = false)
     private Service service;
 
+    // The recurring series this booking belongs to (null if booked on its own)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private BookingSeries series;
+
     // --- Constructors ---
 
     public Booking() {
@@ -114,6 +119,14 @@ public class Booking implements Serializable{
     public void setFinalPrice(Double finalPrice) {
         this.finalPrice = finalPrice;
     }
+
+    public BookingSeries getSeries() {
+        return series;
+    }
+
+    public void setSeries(BookingSeries series) {
+        this.series = series;
+    }
     // --- toString, equals, hashCode ---
 
     @Override
@@ -0,0 +1,141 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.example.spas.model.enums.RecurrenceFrequency;
+
+@Entity
+@Table(name = "booking_series")
+public class BookingSeries implements Serializable{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;
+
+    // Bookings created for the series
+    @Column(nullable = false)
+    private int occurrences;
+
+    @Column(nullable = false)
+    private LocalDateTime firstBookingTime;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // --- Relationships ---
+
+    // The User (customer) who booked the series
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_user_id", nullable = false)
+    private User customer;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    // --- Constructors ---
+
+    public BookingSeries() {
+    }
+
+    public BookingSeries(RecurrenceFrequency frequency, int occurrences, LocalDateTime firstBookingTime,
+                         User customer, Service service) {
+        this.frequency = frequency;
+        this.occurrences = occurrences;
+        this.firstBookingTime = firstBookingTime;
+        this.customer = customer;
+        this.service = service;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(int occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public LocalDateTime getFirstBookingTime() {
+        return firstBookingTime;
+    }
+
+    public void setFirstBookingTime(LocalDateTime firstBookingTime) {
+        this.firstBookingTime = firstBookingTime;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public User getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(User customer) {
+        this.customer = customer;
+    }
+
+    public Service getService() {
+        return service;
+    }
+
+    public void setService(Service service) {
+        this.service = service;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "BookingSeries{" +
+                "id=" + id +
+                ", frequency=" + frequency +
+                ", occurrences=" + occurrences +
+                ", firstBookingTime=" + firstBookingTime +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookingSeries that = (BookingSeries) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.example.spas.model.enums.LoyaltyReason;
+
+/**
+ * One line of the loyalty points ledger. Rows are only ever inserted.
+ */
+@Entity
+@Table(name = "loyalty_ledger")
+public class LoyaltyEntry implements Serializable{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain id: the booking may be archived later, the entry stays
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private int points;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LoyaltyReason reason;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_user_id", nullable = false)
+    private User customer;
+
+    // --- Constructors ---
+
+    public LoyaltyEntry() {
+    }
+
+    // --- Getters and Setters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public void setPoints(int points) {
+        this.points = points;
+    }
+
+    public LoyaltyReason getReason() {
+        return reason;
+    }
+
+    public void setReason(LoyaltyReason reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public User getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(User customer) {
+        this.customer = customer;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "LoyaltyEntry{" +
+                "id=" + id +
+                ", points=" + points +
+                ", reason=" + reason +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LoyaltyEntry that = (LoyaltyEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * One period a spa is open on a day of the week, e.g. MONDAY 09:00-13:00.
+ */
+@Embeddable
+public class OpeningPeriod implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime opensAt;
+
+    @Column(nullable = false)
+    private LocalTime closesAt;
+
+    // --- Constructors ---
+
+    public OpeningPeriod() {
+    }
+
+    public OpeningPeriod(DayOfWeek dayOfWeek, LocalTime opensAt, LocalTime closesAt) {
+        this.dayOfWeek = dayOfWeek;
+        this.opensAt = opensAt;
+        this.closesAt = closesAt;
+    }
+
+    // --- Getters and Setters ---
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getOpensAt() {
+        return opensAt;
+    }
+
+    public void setOpensAt(LocalTime opensAt) {
+        this.opensAt = opensAt;
+    }
+
+    public LocalTime getClosesAt() {
+        return closesAt;
+    }
+
+    public void setClosesAt(LocalTime closesAt) {
+        this.closesAt = closesAt;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "OpeningPeriod{" +
+                "dayOfWeek=" + dayOfWeek +
+                ", opensAt=" + opensAt +
+                ", closesAt=" + closesAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OpeningPeriod that = (OpeningPeriod) o;
+        return dayOfWeek == that.dayOfWeek
+                && Objects.equals(opensAt, that.opensAt)
+                && Objects.equals(closesAt, that.closesAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dayOfWeek, opensAt, closesAt);
+    }
+}
\ No newline at end of file
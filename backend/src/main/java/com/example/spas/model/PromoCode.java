@@ -0,0 +1,177 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "promo_codes")
+public class PromoCode implements Serializable{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // What customers type in, stored upper case
+    @Column(nullable = false, unique = true)
+    private String code;
+
+    private String description;
+
+    @Column(nullable = false)
+    private Double discountPercentage; // e.g., 20.0 for 20% off
+
+    @Column(nullable = false)
+    private int maxRedemptions;
+
+    // Permits claimed by instances; only changed by conditional UPDATEs
+    @Column(nullable = false)
+    private int reserved;
+
+    // Redemptions as of the last reconciliation
+    @Column(nullable = false)
+    private int redeemed;
+
+    private LocalDateTime validFrom;
+
+    private LocalDateTime validUntil;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // --- Constructors ---
+
+    public PromoCode() {
+    }
+
+    public PromoCode(String code, String description, Double discountPercentage, int maxRedemptions,
+                     LocalDateTime validFrom, LocalDateTime validUntil) {
+        this.code = code;
+        this.description = description;
+        this.discountPercentage = discountPercentage;
+        this.maxRedemptions = maxRedemptions;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+        this.active = true;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getDiscountPercentage() {
+        return discountPercentage;
+    }
+
+    public void setDiscountPercentage(Double discountPercentage) {
+        this.discountPercentage = discountPercentage;
+    }
+
+    public int getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public void setMaxRedemptions(int maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+    }
+
+    public int getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(int reserved) {
+        this.reserved = reserved;
+    }
+
+    public int getRedeemed() {
+        return redeemed;
+    }
+
+    public void setRedeemed(int redeemed) {
+        this.redeemed = redeemed;
+    }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDateTime getValidUntil() {
+        return validUntil;
+    }
+
+    public void setValidUntil(LocalDateTime validUntil) {
+        this.validUntil = validUntil;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "PromoCode{" +
+                "id=" + id +
+                ", code='" + code + '\'' +
+                ", maxRedemptions=" + maxRedemptions +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PromoCode that = (PromoCode) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "promo_redemptions")
+public class PromoRedemption implements Serializable{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime redeemedAt;
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "promo_code_id", nullable = false)
+    private PromoCode promoCode;
+
+    // The User (customer) who used the code
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_user_id", nullable = false)
+    private User customer;
+
+    // The booking the code was applied to (null once archived)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id")
+    private Booking booking;
+
+    // --- Constructors ---
+
+    public PromoRedemption() {
+    }
+
+    public PromoRedemption(PromoCode promoCode, User customer, Booking booking) {
+        this.promoCode = promoCode;
+        this.customer = customer;
+        this.booking = booking;
+        this.redeemedAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getRedeemedAt() {
+        return redeemedAt;
+    }
+
+    public void setRedeemedAt(LocalDateTime redeemedAt) {
+        this.redeemedAt = redeemedAt;
+    }
+
+    public PromoCode getPromoCode() {
+        return promoCode;
+    }
+
+    public void setPromoCode(PromoCode promoCode) {
+        this.promoCode = promoCode;
+    }
+
+    public User getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(User customer) {
+        this.customer = customer;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "PromoRedemption{" +
+                "id=" + id +
+                ", redeemedAt=" + redeemedAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PromoRedemption that = (PromoRedemption) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Replaces a spa's weekly hours on one date: closed all day (no times), or
+ * open only between opensAt and closesAt.
+ */
+@Embeddable
+public class ScheduleException implements Serializable {
+
+    @Column(nullable = false)
+    private LocalDate exceptionDate;
+
+    // Both null = closed all day
+    private LocalTime opensAt;
+
+    private LocalTime closesAt;
+
+    private String reason; // e.g. "Public holiday"
+
+    // --- Constructors ---
+
+    public ScheduleException() {
+    }
+
+    public ScheduleException(LocalDate exceptionDate, LocalTime opensAt, LocalTime closesAt, String reason) {
+        this.exceptionDate = exceptionDate;
+        this.opensAt = opensAt;
+        this.closesAt = closesAt;
+        this.reason = reason;
+    }
+
+    public boolean isClosedAllDay() {
+        return opensAt == null;
+    }
+
+    // --- Getters and Setters ---
+
+    public LocalDate getExceptionDate() {
+        return exceptionDate;
+    }
+
+    public void setExceptionDate(LocalDate exceptionDate) {
+        this.exceptionDate = exceptionDate;
+    }
+
+    public LocalTime getOpensAt() {
+        return opensAt;
+    }
+
+    public void setOpensAt(LocalTime opensAt) {
+        this.opensAt = opensAt;
+    }
+
+    public LocalTime getClosesAt() {
+        return closesAt;
+    }
+
+    public void setClosesAt(LocalTime closesAt) {
+        this.closesAt = closesAt;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "ScheduleException{" +
+                "exceptionDate=" + exceptionDate +
+                ", opensAt=" + opensAt +
+                ", closesAt=" + closesAt +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ScheduleException that = (ScheduleException) o;
+        return Objects.equals(exceptionDate, that.exceptionDate)
+                && Objects.equals(opensAt, that.opensAt)
+                && Objects.equals(closesAt, that.closesAt)
+                && Objects.equals(reason, that.reason);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(exceptionDate, opensAt, closesAt, reason);
+    }
+}
\ No newline at end of file
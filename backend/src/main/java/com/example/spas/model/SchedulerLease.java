@@ -0,0 +1,78 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease implements Serializable{
+
+    // The job name, e.g. "booking-expiry"
+    @Id
+    private String name;
+
+    // The app instance currently holding the lease
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    // --- Constructors ---
+
+    public SchedulerLease() {
+    }
+
+    // --- Getters and Setters ---
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "SchedulerLease{" +
+                "name='" + name + '\'' +
+                ", owner='" + owner + '\'' +
+                ", lockedUntil=" + lockedUntil +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SchedulerLease that = (SchedulerLease) o;
+        return Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+}
\ No newline at end of file
@@ -35,6 +35,10 @@ public class Service implements Serializable{
     // Client availability (Feature 12)
     @Enumerated(EnumType.STRING)
     private ServiceStatus serviceStatus;
+
+    // Concurrent bookings this service can take in one slot
+    @Column(nullable = false)
+    private Integer capacity = 1;
     
  // The set of users who have wishlisted this specific service.
     @ManyToMany(mappedBy = "wishlist")
@@ -124,6 +128,14 @@ public class Service implements Serializable{
         this.serviceStatus = serviceStatus;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public Spa getSpa() {
         return spa;
     }
@@ -0,0 +1,112 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.example.spas.model.enums.AllocationScope;
+
+@Entity
+@Table(name = "slot_allocations")
+public class SlotAllocation implements Serializable{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AllocationScope scope;
+
+    // The service id or spa id, depending on scope
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private LocalDateTime slotTime;
+
+    // Active bookings in this slot; only changed by conditional UPDATEs
+    @Column(nullable = false)
+    private int booked;
+
+    // --- Constructors ---
+
+    public SlotAllocation() {
+    }
+
+    public SlotAllocation(AllocationScope scope, Long ownerId, LocalDateTime slotTime) {
+        this.scope = scope;
+        this.ownerId = ownerId;
+        this.slotTime = slotTime;
+        this.booked = 0;
+    }
+
+    // --- Getters and Setters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public AllocationScope getScope() {
+        return scope;
+    }
+
+    public void setScope(AllocationScope scope) {
+        this.scope = scope;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public LocalDateTime getSlotTime() {
+        return slotTime;
+    }
+
+    public void setSlotTime(LocalDateTime slotTime) {
+        this.slotTime = slotTime;
+    }
+
+    public int getBooked() {
+        return booked;
+    }
+
+    public void setBooked(int booked) {
+        this.booked = booked;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "SlotAllocation{" +
+                "scope=" + scope +
+                ", ownerId=" + ownerId +
+                ", slotTime=" + slotTime +
+                ", booked=" + booked +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SlotAllocation that = (SlotAllocation) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
\ No newline at end of file
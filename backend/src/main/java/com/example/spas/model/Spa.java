@@ -3,11 +3,14 @@ package com.example.spas.model;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
 import com.example.spas.model.enums.ApprovalStatus;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "spas")
@@ -26,6 +29,9 @@ public class Spa implements Serializable{
     @Enumerated(EnumType.STRING)
     private ApprovalStatus approvalStatus; // For Admin (Feature 18)
 
+    // Therapists/rooms shared by all services in one slot (null = no spa-wide limit)
+    private Integer resourceCount;
+
     // --- Relationships ---
 
     // The Client (User) who owns this spa
@@ -45,6 +51,18 @@ public class Spa implements Serializable{
     @OneToMany(mappedBy = "spa", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Review> reviews = new HashSet<>();
 
+    // Weekly opening hours (empty = default hours, see SpaSchedule)
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "spa_opening_hours", joinColumns = @JoinColumn(name = "spa_id"))
+    private List<OpeningPeriod> openingHours = new ArrayList<>();
+
+    // Holidays, closures and special hours on single dates
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "spa_schedule_exceptions", joinColumns = @JoinColumn(name = "spa_id"))
+    private List<ScheduleException> scheduleExceptions = new ArrayList<>();
+
 
 
     // --- Constructors ---
@@ -102,6 +120,14 @@ public class Spa implements Serializable{
         this.approvalStatus = approvalStatus;
     }
 
+    public Integer getResourceCount() {
+        return resourceCount;
+    }
+
+    public void setResourceCount(Integer resourceCount) {
+        this.resourceCount = resourceCount;
+    }
+
     public User getOwner() {
         return owner;
     }
@@ -134,6 +160,22 @@ public class Spa implements Serializable{
         this.reviews = reviews;
     }
 
+    public List<OpeningPeriod> getOpeningHours() {
+        return openingHours;
+    }
+
+    public void setOpeningHours(List<OpeningPeriod> openingHours) {
+        this.openingHours = openingHours;
+    }
+
+    public List<ScheduleException> getScheduleExceptions() {
+        return scheduleExceptions;
+    }
+
+    public void setScheduleExceptions(List<ScheduleException> scheduleExceptions) {
+        this.scheduleExceptions = scheduleExceptions;
+    }
+
 
 
     // --- toString, equals, hashCode ---
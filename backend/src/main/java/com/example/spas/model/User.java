@@ -3,6 +3,7 @@ package com.example.spas.model;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -64,6 +65,14 @@ public class User implements Serializable{
     @Enumerated(EnumType.STRING)
     private MembershipStatus membershipStatus;
 
+    // Current billing period of the membership (see MembershipRenewalJob)
+    private LocalDateTime membershipStartedAt;
+
+    private LocalDateTime membershipPeriodEnd;
+
+    @Column(nullable = false)
+    private boolean membershipAutoRenew = true;
+
     // --- Constructors ---
 
     public User() {
@@ -184,6 +193,30 @@ public class User implements Serializable{
         this.membershipStatus = membershipStatus;
     }
 
+    public LocalDateTime getMembershipStartedAt() {
+        return membershipStartedAt;
+    }
+
+    public void setMembershipStartedAt(LocalDateTime membershipStartedAt) {
+        this.membershipStartedAt = membershipStartedAt;
+    }
+
+    public LocalDateTime getMembershipPeriodEnd() {
+        return membershipPeriodEnd;
+    }
+
+    public void setMembershipPeriodEnd(LocalDateTime membershipPeriodEnd) {
+        this.membershipPeriodEnd = membershipPeriodEnd;
+    }
+
+    public boolean isMembershipAutoRenew() {
+        return membershipAutoRenew;
+    }
+
+    public void setMembershipAutoRenew(boolean membershipAutoRenew) {
+        this.membershipAutoRenew = membershipAutoRenew;
+    }
+
     // --- toString() ---
 
     @Override
@@ -0,0 +1,149 @@
+package com.example.spas.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.example.spas.model.enums.WaitlistStatus;
+
+@Entity
+@Table(name = "waitlist_entries")
+public class WaitlistEntry implements Serializable{
+
+    // Also the queue order within a slot
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime slotTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Set while OFFERED
+    private LocalDateTime offerExpiresAt;
+
+    // The reservation hold offered to this user
+    private Long holdId;
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    // The User (customer) waiting for the slot
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_user_id", nullable = false)
+    private User customer;
+
+    // --- Constructors ---
+
+    public WaitlistEntry() {
+    }
+
+    public WaitlistEntry(LocalDateTime slotTime, Service service, User customer) {
+        this.slotTime = slotTime;
+        this.service = service;
+        this.customer = customer;
+        this.status = WaitlistStatus.WAITING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getSlotTime() {
+        return slotTime;
+    }
+
+    public void setSlotTime(LocalDateTime slotTime) {
+        this.slotTime = slotTime;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getOfferExpiresAt() {
+        return offerExpiresAt;
+    }
+
+    public void setOfferExpiresAt(LocalDateTime offerExpiresAt) {
+        this.offerExpiresAt = offerExpiresAt;
+    }
+
+    public Long getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(Long holdId) {
+        this.holdId = holdId;
+    }
+
+    public Service getService() {
+        return service;
+    }
+
+    public void setService(Service service) {
+        this.service = service;
+    }
+
+    public User getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(User customer) {
+        this.customer = customer;
+    }
+
+    // --- toString, equals, hashCode ---
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "id=" + id +
+                ", slotTime=" + slotTime +
+                ", status=" + status +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WaitlistEntry that = (WaitlistEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.example.spas.model.enums;
+
+public enum AllocationScope {
+    SERVICE,  // Counter per service and slot (limit: service capacity)
+    SPA       // Counter per spa and slot (limit: spa resource count)
+}
\ No newline at end of file
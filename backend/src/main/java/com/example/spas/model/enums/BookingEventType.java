@@ -0,0 +1,8 @@
+package com.example.spas.model.enums;
+
+public enum BookingEventType {
+    BOOKING_CREATED,    // User has requested a booking
+    BOOKING_CANCELLED,  // User has cancelled
+    BOOKING_CONFIRMED,  // Client has confirmed
+    BOOKING_DECLINED    // Client has declined
+}
\ No newline at end of file
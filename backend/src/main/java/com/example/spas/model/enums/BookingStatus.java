@@ -4,5 +4,6 @@ public enum BookingStatus {
     PENDING,            // User has requested
     CONFIRMED,          // Client has confirmed
     CANCELLED_BY_USER,  // User has cancelled
-    DECLINED_BY_CLIENT  // Client has declined
+    DECLINED_BY_CLIENT, // Client has declined
+    EXPIRED             // Still pending when its time passed
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.example.spas.model.enums;
+
+public enum LoyaltyReason {
+    BOOKING_CONFIRMED  // Points earned when the client confirms a booking
+}
\ No newline at end of file
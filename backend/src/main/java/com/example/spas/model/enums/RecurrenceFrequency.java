@@ -0,0 +1,16 @@
+package com.example.spas.model.enums;
+
+public enum RecurrenceFrequency {
+    WEEKLY(1),    // Same weekday and time every week
+    BIWEEKLY(2);  // Same weekday and time every other week
+
+    private final int weeksBetween;
+
+    RecurrenceFrequency(int weeksBetween) {
+        this.weeksBetween = weeksBetween;
+    }
+
+    public int getWeeksBetween() {
+        return weeksBetween;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.spas.model.enums;
+
+public enum WaitlistStatus {
+    WAITING,  // In the queue
+    OFFERED,  // Slot is held for this user until the offer expires
+    BOOKED,   // User booked the slot
+    LAPSED,   // Offer expired without a booking
+    LEFT      // User left the waitlist
+}
\ No newline at end of file
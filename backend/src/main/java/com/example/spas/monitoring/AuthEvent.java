@@ -0,0 +1,30 @@
+package com.example.spas.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a login attempt (UserService.login).
+ * The email is deliberately not recorded.
+ */
+@Name("com.example.spas.Auth")
+@Label("Login")
+@Category({ "Spa Booking", "Auth" })
+@Description("A login attempt and its outcome")
+@StackTrace(false)
+public class AuthEvent extends Event {
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String UNKNOWN_USER = "UNKNOWN_USER";
+    public static final String BAD_PASSWORD = "BAD_PASSWORD";
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,41 @@
+package com.example.spas.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one step of BookingService.createBooking
+ * (lookupCustomer, lookupService, calculatePrice, save).
+ */
+@Name("com.example.spas.BookingStep")
+@Label("Booking Step")
+@Category({ "Spa Booking", "Booking" })
+@Description("Duration of a single step while creating a booking")
+@StackTrace(false)
+public class BookingStepEvent extends Event {
+
+    @Label("Step")
+    public String step;
+
+    @Label("Customer Id")
+    public long customerId;
+
+    @Label("Service Id")
+    public long serviceId;
+
+    /**
+     * Creates the event and starts its clock. Call commit() when the step is done.
+     */
+    public static BookingStepEvent begin(String step, Long customerId, Long serviceId) {
+        BookingStepEvent event = new BookingStepEvent();
+        event.step = step;
+        event.customerId = customerId != null ? customerId : 0L;
+        event.serviceId = serviceId != null ? serviceId : 0L;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.spas.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for SpaService.getSpaDetails (spa + services + reviews).
+ */
+@Name("com.example.spas.SpaDetails")
+@Label("Spa Details")
+@Category({ "Spa Booking", "Catalog" })
+@Description("Loading a spa with its approved services and reviews")
+@StackTrace(false)
+public class SpaDetailsEvent extends Event {
+
+    @Label("Spa Id")
+    public long spaId;
+
+    @Label("Services")
+    public int serviceCount;
+
+    @Label("Reviews")
+    public int reviewCount;
+}
@@ -0,0 +1 @@
+package com.example.spas.monitoring;
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.ArchivedBooking;
+import com.example.spas.model.enums.BookingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    // For User: booking history (Feature 6 with includeHistory)
+    List<ArchivedBooking> findAllByCustomerId(Long customerId);
+
+    // For reviews: a confirmed booking may already be archived (Feature 8)
+    boolean existsByCustomerIdAndSpaIdAndStatus(Long customerId, Long spaId, BookingStatus status);
+
+    /**
+     * For the archive job: copies the given bookings into the archive.
+     * Runs in the same transaction as the matching delete from "bookings".
+     */
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive " +
+                   "(id, booking_time, status, final_price, customer_user_id, spa_id, service_id, archived_at) " +
+                   "SELECT id, booking_time, status, final_price, customer_user_id, spa_id, service_id, :archivedAt " +
+                   "FROM bookings WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
\ No newline at end of file
@@ -3,13 +3,17 @@ package com.example.spas.repository;
 import com.example.spas.model.Booking;
 import com.example.spas.model.enums.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSearchRepository {
 
     // For User: view all their bookings (Feature 6)
     List<Booking> findAllByCustomerId(Long customerId);
@@ -23,14 +27,68 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // For Client: view all bookings for ALL their spas
     List<Booking> findAllBySpaOwnerId(Long ownerId);
 
+    // The occurrences of a recurring series, in date order
+    List<Booking> findAllBySeriesIdOrderByBookingTimeAsc(Long seriesId);
+
     // For User: check availability for a service on a specific day (Feature 9)
-    List<Booking> findAllByServiceIdAndBookingTimeBetween(Long serviceId, LocalDateTime startOfDay, LocalDateTime endOfDay);
+    // Only bookings in the given statuses occupy a slot (cancelled/declined ones free it)
+    List<Booking> findAllByServiceIdAndBookingTimeBetweenAndStatusIn(Long serviceId, LocalDateTime startOfDay, LocalDateTime endOfDay, Collection<BookingStatus> statuses);
     
-    boolean existsByServiceIdAndBookingTime(Long serviceId, LocalDateTime bookingTime);
+    boolean existsByServiceIdAndBookingTimeAndStatusIn(Long serviceId, LocalDateTime bookingTime, Collection<BookingStatus> statuses);
+
+    /**
+     * For createBooking's overlap check: the customer's bookings in the given
+     * statuses that start in (from, to), with their service's duration.
+     * Served by the (customer_user_id, booking_time) index.
+     */
+    @Query("SELECT b.id AS id, b.bookingTime AS bookingTime, s.durationInMinutes AS durationInMinutes " +
+           "FROM Booking b JOIN b.service s WHERE b.customer.id = :customerId " +
+           "AND b.bookingTime > :from AND b.bookingTime < :to AND b.status IN :statuses")
+    List<BookedInterval> findIntervalsForCustomer(@Param("customerId") Long customerId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to,
+                                                  @Param("statuses") Collection<BookingStatus> statuses);
 
     /**
      * This is the method you need to add.
      * It checks if a row exists in the Booking table that matches all three conditions.
      */
     boolean existsByCustomerIdAndSpaIdAndStatus(Long customerId, Long spaId, BookingStatus status);
+
+    /**
+     * For the expiry job: marks at most batchSize past-due PENDING bookings
+     * as EXPIRED in one set-based statement (no entities are loaded).
+     */
+    @Modifying
+    @Query(value = "UPDATE bookings SET status = 'EXPIRED' WHERE id IN (" +
+                   "SELECT id FROM bookings WHERE status = 'PENDING' AND booking_time < :cutoff " +
+                   "ORDER BY booking_time LIMIT :batchSize)", nativeQuery = true)
+    int expirePendingBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    // For the archive job: the next chunk of finished bookings older than the horizon
+    @Query(value = "SELECT id FROM bookings WHERE status <> 'PENDING' AND booking_time < :horizon " +
+                   "ORDER BY booking_time LIMIT :batchSize", nativeQuery = true)
+    List<Long> findArchivableIds(@Param("horizon") LocalDateTime horizon, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM bookings WHERE id IN (:ids)", nativeQuery = true)
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // For Admin: statistics, bookings per status (archived bookings not included)
+    @Query("SELECT b.status AS status, COUNT(b) AS total FROM Booking b GROUP BY b.status")
+    List<StatusCount> countByStatus();
+
+    interface StatusCount {
+        BookingStatus getStatus();
+
+        long getTotal();
+    }
+
+    interface BookedInterval {
+        Long getId();
+
+        LocalDateTime getBookingTime();
+
+        Integer getDurationInMinutes();
+    }
 }
\ No newline at end of file
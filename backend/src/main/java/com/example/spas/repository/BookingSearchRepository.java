@@ -0,0 +1,24 @@
+package com.example.spas.repository;
+
+import com.example.spas.dto.BookingView;
+import com.example.spas.model.Booking;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingSearchRepository {
+
+    /**
+     * The first bookings matching the specification in (booking time, id)
+     * order, read straight into BookingView (no entities are loaded).
+     */
+    List<BookingView> findViews(Specification<Booking> spec, int limit);
+
+    /**
+     * All matching bookings in the same order, read through a forward-only
+     * cursor fetchSize rows at a time. Must be consumed and closed inside a
+     * transaction.
+     */
+    Stream<BookingView> streamViews(Specification<Booking> spec, int fetchSize);
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.spas.repository;
+
+import com.example.spas.dto.BookingView;
+import com.example.spas.model.Booking;
+import com.example.spas.model.Service;
+import com.example.spas.model.Spa;
+import com.example.spas.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria query behind BookingSearchRepository: the specification's
+ * filters with a constructor projection, so only the view's columns are
+ * selected and nothing enters the persistence context.
+ */
+public class BookingSearchRepositoryImpl implements BookingSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findViews(Specification<Booking> spec, int limit) {
+        return viewQuery(spec).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<BookingView> streamViews(Specification<Booking> spec, int fetchSize) {
+        return viewQuery(spec)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<BookingView> viewQuery(Specification<Booking> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, User> customer = booking.join("customer");
+        Join<Booking, Spa> spa = booking.join("spa");
+        Join<Booking, Service> service = booking.join("service");
+
+        // Same as BookingService.customerName: "First Last", or "First"
+        // without a last name
+        Expression<String> customerName = cb.trim(cb.concat(cb.concat(customer.get("firstName"), " "),
+                cb.coalesce(customer.get("lastName"), "")));
+
+        query.select(cb.construct(BookingView.class,
+                booking.get("id"),
+                booking.get("bookingTime"),
+                booking.get("status"),
+                customer.get("id"),
+                customerName,
+                spa.get("id"),
+                spa.get("name"),
+                service.get("id"),
+                service.get("name"),
+                service.get("price"),
+                booking.get("finalPrice")));
+        // No criteria at all gives a null predicate
+        Predicate predicate = spec == null ? null : spec.toPredicate(booking, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(booking.get("bookingTime")), cb.asc(booking.get("id")));
+
+        return entityManager.createQuery(query);
+    }
+}
\ No newline at end of file
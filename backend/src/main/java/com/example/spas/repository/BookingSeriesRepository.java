@@ -0,0 +1,9 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.BookingSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+}
\ No newline at end of file
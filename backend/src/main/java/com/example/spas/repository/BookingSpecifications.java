@@ -0,0 +1,60 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.Booking;
+import com.example.spas.model.enums.BookingStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the admin booking explorer. Each returns null when its
+ * criterion is not given, so Specification.where(...).and(...) skips it.
+ */
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> atSpa(Long spaId) {
+        return spaId == null ? null : (root, query, cb) -> cb.equal(root.get("spa").get("id"), spaId);
+    }
+
+    public static Specification<Booking> forService(Long serviceId) {
+        return serviceId == null ? null : (root, query, cb) -> cb.equal(root.get("service").get("id"), serviceId);
+    }
+
+    public static Specification<Booking> forCustomer(Long customerId) {
+        return customerId == null ? null : (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    public static Specification<Booking> hasStatus(BookingStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // Booking time in [from, to)
+    public static Specification<Booking> bookedBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThan(root.get("bookingTime"), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get("bookingTime"), from);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(root.get("bookingTime"), from),
+                    cb.lessThan(root.get("bookingTime"), to));
+        };
+    }
+
+    // Keyset pagination: bookings after the last one of the previous page, in (booking time, id) order
+    public static Specification<Booking> after(LocalDateTime bookingTime, Long id) {
+        if (bookingTime == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("bookingTime"), bookingTime),
+                cb.and(cb.equal(root.get("bookingTime"), bookingTime), cb.greaterThan(root.get("id"), id)));
+    }
+}
\ No newline at end of file
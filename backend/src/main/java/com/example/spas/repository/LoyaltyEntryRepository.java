@@ -0,0 +1,50 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.LoyaltyEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LoyaltyEntryRepository extends JpaRepository<LoyaltyEntry, Long> {
+
+    // For User: latest ledger lines
+    List<LoyaltyEntry> findTop10ByCustomerIdOrderByIdDesc(Long customerId);
+
+    /**
+     * Snapshot plus the entries after it: an index range scan over the few
+     * entries since the last snapshot run, never the whole history.
+     */
+    @Query(value = "SELECT COALESCE((SELECT b.balance FROM loyalty_balances b WHERE b.customer_user_id = :customerId), 0) + " +
+                   "(SELECT COALESCE(SUM(l.points), 0) FROM loyalty_ledger l WHERE l.customer_user_id = :customerId " +
+                   "AND l.id > COALESCE((SELECT b.snapshot_entry_id FROM loyalty_balances b " +
+                   "WHERE b.customer_user_id = :customerId), 0))", nativeQuery = true)
+    long getBalance(@Param("customerId") Long customerId);
+
+    // Snapshots may fold in entries up to here
+    @Query("SELECT MAX(l.id) FROM LoyaltyEntry l WHERE l.createdAt < :cutoff")
+    Long findLastIdCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Customers with new entries but no snapshot yet get an empty one
+    @Modifying
+    @Query(value = "INSERT INTO loyalty_balances (customer_user_id, balance, snapshot_entry_id, updated_at) " +
+                   "SELECT DISTINCT l.customer_user_id, 0, 0, :now FROM loyalty_ledger l WHERE l.id <= :upTo " +
+                   "AND NOT EXISTS (SELECT 1 FROM loyalty_balances b WHERE b.customer_user_id = l.customer_user_id)",
+           nativeQuery = true)
+    int insertMissingSnapshots(@Param("upTo") long upTo, @Param("now") LocalDateTime now);
+
+    // Folds the entries in (snapshot_entry_id, upTo] into the snapshot
+    @Modifying
+    @Query(value = "UPDATE loyalty_balances b SET balance = balance + " +
+                   "(SELECT COALESCE(SUM(l.points), 0) FROM loyalty_ledger l WHERE l.customer_user_id = b.customer_user_id " +
+                   "AND l.id > b.snapshot_entry_id AND l.id <= :upTo), snapshot_entry_id = :upTo, updated_at = :now " +
+                   "WHERE b.snapshot_entry_id < :upTo AND EXISTS (SELECT 1 FROM loyalty_ledger l " +
+                   "WHERE l.customer_user_id = b.customer_user_id AND l.id > b.snapshot_entry_id AND l.id <= :upTo)",
+           nativeQuery = true)
+    int advanceSnapshots(@Param("upTo") long upTo, @Param("now") LocalDateTime now);
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // For the dispatcher: pending events that are due, oldest first
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Pageable page);
+
+    /**
+     * Claims one event for delivery. Only succeeds (returns 1) if nobody else
+     * claimed it since it was read, because "attempts" is used as the version.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil " +
+           "WHERE e.id = :id AND e.attempts = :attempts AND e.processedAt IS NULL")
+    int claim(@Param("id") Long id, @Param("attempts") int attempts, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :now, e.lastError = NULL WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Schedules a retry (processedAt NULL) or gives up (processedAt set)
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :nextAttemptAt, e.processedAt = :processedAt, " +
+           "e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("processedAt") LocalDateTime processedAt, @Param("error") String error);
+
+    // For lag metrics
+    long countByProcessedAtIsNull();
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.processedAt IS NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    // Retention: delivered events are only kept for troubleshooting
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :cutoff")
+    int deleteAllProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.PromoCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PromoCodeRepository extends JpaRepository<PromoCode, Long> {
+
+    Optional<PromoCode> findByCode(String code);
+
+    boolean existsByCode(String code);
+
+    /**
+     * Claims "permits" redemptions for this instance if that many are left.
+     * Returns 0 when fewer remain.
+     */
+    @Modifying
+    @Query("UPDATE PromoCode p SET p.reserved = p.reserved + :permits " +
+           "WHERE p.id = :id AND p.reserved + :permits <= p.maxRedemptions")
+    int tryReserve(@Param("id") Long id, @Param("permits") int permits);
+
+    // Gives back permits this instance did not use
+    @Modifying
+    @Query("UPDATE PromoCode p SET p.reserved = p.reserved - :permits WHERE p.id = :id AND p.reserved >= :permits")
+    int unreserve(@Param("id") Long id, @Param("permits") int permits);
+
+    // Records how many permits an instance holds, until expiresAt (H2 upsert)
+    @Modifying
+    @Query(value = "MERGE INTO promo_permit_leases (instance_id, promo_code_id, permits, expires_at) " +
+                   "KEY (instance_id, promo_code_id) VALUES (:instanceId, :id, :permits, :expiresAt)",
+           nativeQuery = true)
+    int saveLease(@Param("instanceId") String instanceId, @Param("id") Long id,
+                  @Param("permits") long permits, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Reconciliation: waits for claims in progress, and holds off new ones until commit
+    @Query(value = "SELECT id FROM promo_codes ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAll();
+
+    // Reconciliation: permits in use are the redemptions plus those live instances hold;
+    // permits of instances whose lease ran out are free again
+    @Modifying
+    @Query(value = "UPDATE promo_codes p SET reserved = LEAST(max_redemptions, " +
+                   "(SELECT COUNT(*) FROM promo_redemptions r WHERE r.promo_code_id = p.id) + " +
+                   "(SELECT COALESCE(SUM(l.permits), 0) FROM promo_permit_leases l " +
+                   "WHERE l.promo_code_id = p.id AND l.expires_at > :now))",
+           nativeQuery = true)
+    int refreshReservedCounts(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM promo_permit_leases WHERE expires_at <= :now", nativeQuery = true)
+    int deleteExpiredLeases(@Param("now") LocalDateTime now);
+
+    // Reconciliation: the redeemed count from the redemption rows (only rows that changed are written)
+    @Modifying
+    @Query(value = "UPDATE promo_codes p SET redeemed = " +
+                   "(SELECT COUNT(*) FROM promo_redemptions r WHERE r.promo_code_id = p.id) " +
+                   "WHERE redeemed <> (SELECT COUNT(*) FROM promo_redemptions r WHERE r.promo_code_id = p.id)",
+           nativeQuery = true)
+    int refreshRedeemedCounts();
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.PromoRedemption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PromoRedemptionRepository extends JpaRepository<PromoRedemption, Long> {
+
+    boolean existsByPromoCodeIdAndCustomerId(Long promoCodeId, Long customerId);
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.ReservationHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReservationHoldRepository extends JpaRepository<ReservationHold, Long> {
+
+    // For booking: the customer's own unexpired hold on one slot
+    @Query("SELECT h FROM ReservationHold h WHERE h.service.id = :serviceId AND h.slotTime = :slotTime " +
+           "AND h.expiresAt > :now AND h.customer.id = :customerId")
+    Optional<ReservationHold> findActiveForSlotAndCustomer(@Param("serviceId") Long serviceId,
+                                                           @Param("slotTime") LocalDateTime slotTime,
+                                                           @Param("now") LocalDateTime now,
+                                                           @Param("customerId") Long customerId);
+
+    // Unexpired holds on one slot
+    @Query("SELECT COUNT(h) FROM ReservationHold h WHERE h.service.id = :serviceId AND h.slotTime = :slotTime AND h.expiresAt > :now")
+    long countActiveForSlot(@Param("serviceId") Long serviceId,
+                            @Param("slotTime") LocalDateTime slotTime,
+                            @Param("now") LocalDateTime now);
+
+    // For capacity: unexpired holds on all services of some spas starting in [from, to)
+    @Query("SELECT h.service.id AS serviceId, h.service.spa.id AS spaId, h.slotTime AS slotTime, " +
+           "h.service.durationInMinutes AS durationInMinutes, h.customer.id AS customerId FROM ReservationHold h " +
+           "WHERE h.service.spa.id IN :spaIds AND h.slotTime >= :from AND h.slotTime < :to AND h.expiresAt > :now")
+    List<HoldSpan> findActiveSpans(@Param("spaIds") Collection<Long> spaIds,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("now") LocalDateTime now);
+
+    @Query("SELECT h.service.id AS serviceId, h.service.spa.id AS spaId, h.slotTime AS slotTime, " +
+           "h.service.durationInMinutes AS durationInMinutes, h.customer.id AS customerId FROM ReservationHold h " +
+           "WHERE h.slotTime >= :from AND h.slotTime < :to AND h.expiresAt > :now")
+    List<HoldSpan> findAllActiveSpans(@Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("now") LocalDateTime now);
+
+    // Per-customer hold limit
+    long countByCustomerIdAndExpiresAtAfter(Long customerId, LocalDateTime now);
+
+    // For expiry bookkeeping on startup
+    List<ReservationHold> findAllByExpiresAtAfter(LocalDateTime now);
+
+    // Frees the unique (service, slot, customer) key of an expired hold before re-holding
+    @Modifying
+    @Query("DELETE FROM ReservationHold h WHERE h.service.id = :serviceId AND h.slotTime = :slotTime AND h.expiresAt <= :now")
+    int deleteExpiredForSlot(@Param("serviceId") Long serviceId,
+                             @Param("slotTime") LocalDateTime slotTime,
+                             @Param("now") LocalDateTime now);
+
+    // A recurring series uses up the customer's own holds on its slots
+    @Modifying
+    @Query("DELETE FROM ReservationHold h WHERE h.service.id = :serviceId AND h.slotTime IN :slotTimes " +
+           "AND h.customer.id = :customerId")
+    int deleteForSlotsAndCustomer(@Param("serviceId") Long serviceId,
+                                  @Param("slotTimes") Collection<LocalDateTime> slotTimes,
+                                  @Param("customerId") Long customerId);
+
+    // Slots of the holds deleteExpired / deleteAllExpired are about to remove,
+    // to offer them to their waitlists afterwards
+    @Query("SELECT DISTINCT h.service.id AS serviceId, h.slotTime AS slotTime FROM ReservationHold h " +
+           "WHERE h.id IN :ids AND h.expiresAt <= :now")
+    List<HeldSlot> findExpiredSlots(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT h.service.id AS serviceId, h.slotTime AS slotTime FROM ReservationHold h " +
+           "WHERE h.expiresAt <= :now")
+    List<HeldSlot> findAllExpiredSlots(@Param("now") LocalDateTime now);
+
+    // Re-checks expires_at so a hold is never deleted early
+    @Modifying
+    @Query("DELETE FROM ReservationHold h WHERE h.id IN :ids AND h.expiresAt <= :now")
+    int deleteExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM ReservationHold h WHERE h.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+
+    interface HeldSlot {
+        Long getServiceId();
+
+        LocalDateTime getSlotTime();
+    }
+
+    interface HoldSpan {
+        Long getServiceId();
+
+        Long getSpaId();
+
+        LocalDateTime getSlotTime();
+
+        Integer getDurationInMinutes();
+
+        Long getCustomerId();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Takes the lease if it is free (expired) or already ours.
+     * Returns 1 on success, 0 if another instance holds it or the row is missing.
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.lockedUntil = :lockedUntil " +
+           "WHERE l.name = :name AND (l.lockedUntil < :now OR l.owner = :owner)")
+    int tryTake(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    // First use of a job name; fails with a duplicate key if another instance won the race
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_leases (name, owner, locked_until) VALUES (:name, :owner, :lockedUntil)",
+           nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
\ No newline at end of file
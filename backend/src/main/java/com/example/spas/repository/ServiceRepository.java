@@ -1,10 +1,15 @@
 package com.example.spas.repository;
 
+import com.example.spas.dto.BookableService;
 import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.model.enums.ServiceStatus;
 import com.example.spas.model.Service;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,4 +23,28 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
 
     // For Admin: view all services awaiting approval (Feature 19)
     List<Service> findAllByApprovalStatus(ApprovalStatus status);
+
+    // For User: bookable services matching a name, with their spa (next-available search).
+    // The name is taken literally: callers escape \, % and _ with a backslash.
+    @Query("SELECT new com.example.spas.dto.BookableService(s.id, s.name, s.price, s.durationInMinutes, s.capacity, " +
+           "sp.id, sp.name, sp.resourceCount) FROM Service s JOIN s.spa sp " +
+           "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')) ESCAPE '\\' " +
+           "AND s.approvalStatus = :approved AND sp.approvalStatus = :approved AND s.serviceStatus = :status")
+    List<BookableService> findBookableByName(@Param("name") String name,
+                                     @Param("approved") ApprovalStatus approved,
+                                     @Param("status") ServiceStatus status);
+
+    // For User: list prices of some services (price quotes)
+    @Query("SELECT s.id AS id, s.price AS price FROM Service s WHERE s.id IN :ids")
+    List<ServicePrice> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // For Admin: statistics, services per approval status
+    @Query("SELECT s.approvalStatus AS status, COUNT(s) AS total FROM Service s GROUP BY s.approvalStatus")
+    List<SpaRepository.StatusCount> countByApprovalStatus();
+
+    interface ServicePrice {
+        Long getId();
+
+        Double getPrice();
+    }
 }
\ No newline at end of file
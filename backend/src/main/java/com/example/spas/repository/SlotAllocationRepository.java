@@ -0,0 +1,56 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.SlotAllocation;
+import com.example.spas.model.enums.AllocationScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SlotAllocationRepository extends JpaRepository<SlotAllocation, Long> {
+
+    boolean existsByScopeAndOwnerIdAndSlotTime(AllocationScope scope, Long ownerId, LocalDateTime slotTime);
+
+    // Counters of some owners in [from, to), for availability and slot search
+    @Query("SELECT a FROM SlotAllocation a WHERE a.scope = :scope AND a.ownerId IN :ownerIds " +
+           "AND a.slotTime >= :from AND a.slotTime < :to")
+    List<SlotAllocation> findRange(@Param("scope") AllocationScope scope, @Param("ownerIds") Collection<Long> ownerIds,
+                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT a FROM SlotAllocation a WHERE a.scope = :scope AND a.slotTime >= :from AND a.slotTime < :to")
+    List<SlotAllocation> findAllInRange(@Param("scope") AllocationScope scope,
+                                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Locks the counters of some 15-minute units of one owner until commit,
+     * in time order. Holds and bookings take this lock before counting the
+     * units' holds, so the count cannot change before they take their units.
+     */
+    @Query(value = "SELECT id FROM slot_allocations WHERE scope = :scope AND owner_id = :ownerId " +
+                   "AND slot_time IN (:slotTimes) ORDER BY slot_time FOR UPDATE", nativeQuery = true)
+    List<Long> lockCounters(@Param("scope") String scope, @Param("ownerId") Long ownerId,
+                            @Param("slotTimes") Collection<LocalDateTime> slotTimes);
+
+    // Rebuild from the active bookings (used after seeding, which bypasses the counters)
+    @Modifying
+    @Query(value = "DELETE FROM slot_allocations", nativeQuery = true)
+    int deleteAllCounters();
+
+    @Modifying
+    @Query(value = "INSERT INTO slot_allocations (scope, owner_id, slot_time, booked) " +
+                   "SELECT 'SERVICE', service_id, unit_time, COUNT(*) FROM active_booking_units " +
+                   "GROUP BY service_id, unit_time", nativeQuery = true)
+    int insertServiceCountersFromBookings();
+
+    @Modifying
+    @Query(value = "INSERT INTO slot_allocations (scope, owner_id, slot_time, booked) " +
+                   "SELECT 'SPA', spa_id, unit_time, COUNT(*) FROM active_booking_units " +
+                   "GROUP BY spa_id, unit_time", nativeQuery = true)
+    int insertSpaCountersFromBookings();
+}
\ No newline at end of file
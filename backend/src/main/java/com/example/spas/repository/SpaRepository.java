@@ -3,6 +3,7 @@ package com.example.spas.repository;
 import com.example.spas.model.enums.ApprovalStatus;
 import com.example.spas.model.Spa;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,5 +21,13 @@ public interface SpaRepository extends JpaRepository<Spa, Long> {
     // For Client: view their own spas (part of Feature 10)
     List<Spa> findAllByOwnerId(Long ownerId);
 
+    // For Admin: statistics, spas per approval status
+    @Query("SELECT s.approvalStatus AS status, COUNT(s) AS total FROM Spa s GROUP BY s.approvalStatus")
+    List<StatusCount> countByApprovalStatus();
 
+    interface StatusCount {
+        ApprovalStatus getStatus();
+
+        long getTotal();
+    }
 }
\ No newline at end of file
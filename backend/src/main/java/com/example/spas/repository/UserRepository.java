@@ -3,14 +3,27 @@ package com.example.spas.repository;
 import com.example.spas.model.enums.MembershipStatus;
 import com.example.spas.model.enums.Role;
 import com.example.spas.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserSearchRepository {
+
+    // For createBooking: serializes one customer's concurrent bookings (overlap check)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
 
     // For login (Feature 1)
     Optional<User> findByEmail(String email);
@@ -26,4 +39,50 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // For Admin: view customers by membership plan (Feature 23)
     List<User> findAllByMembershipId(Long membershipId);
+
+    /**
+     * For the membership renewal job: the next chunk of active members whose
+     * period ended by "now", after the last one seen in (period end, id)
+     * order. Served by the (membership_status, membership_period_end, id) index.
+     */
+    @Query("SELECT u.id AS id, u.membershipPeriodEnd AS periodEnd, u.membershipAutoRenew AS autoRenew " +
+           "FROM User u WHERE u.membershipStatus = com.example.spas.model.enums.MembershipStatus.ACTIVE " +
+           "AND u.membershipPeriodEnd <= :now AND (u.membershipPeriodEnd > :afterEnd " +
+           "OR (u.membershipPeriodEnd = :afterEnd AND u.id > :afterId)) " +
+           "ORDER BY u.membershipPeriodEnd, u.id")
+    List<DueMembership> findDueMemberships(@Param("now") LocalDateTime now,
+                                           @Param("afterEnd") LocalDateTime afterEnd,
+                                           @Param("afterId") Long afterId,
+                                           Pageable page);
+
+    // Ends the memberships of a chunk that are not renewed (same as a cancel)
+    @Modifying
+    @Query(value = "UPDATE users SET membership_status = 'INACTIVE', membership_id = NULL, " +
+                   "membership_started_at = NULL, membership_period_end = NULL " +
+                   "WHERE id IN (:ids) AND membership_status = 'ACTIVE' AND membership_auto_renew = FALSE " +
+                   "AND membership_period_end <= :now", nativeQuery = true)
+    int expireMemberships(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // For Admin: statistics (Feature 23), one row per role/status/plan combination
+    @Query("SELECT u.role AS role, u.membershipStatus AS membershipStatus, m.name AS planName, COUNT(u) AS total " +
+           "FROM User u LEFT JOIN u.membership m GROUP BY u.role, u.membershipStatus, m.name")
+    List<UserCount> countByRoleAndMembership();
+
+    interface UserCount {
+        Role getRole();
+
+        MembershipStatus getMembershipStatus();
+
+        String getPlanName();
+
+        long getTotal();
+    }
+
+    interface DueMembership {
+        Long getId();
+
+        LocalDateTime getPeriodEnd();
+
+        boolean getAutoRenew();
+    }
 }
\ No newline at end of file
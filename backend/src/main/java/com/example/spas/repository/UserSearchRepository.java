@@ -0,0 +1,16 @@
+package com.example.spas.repository;
+
+import com.example.spas.dto.UserView;
+import com.example.spas.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface UserSearchRepository {
+
+    /**
+     * The first users matching the specification in id order, read straight
+     * into UserView (no User entities are loaded).
+     */
+    List<UserView> findViews(Specification<User> spec, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.spas.repository;
+
+import com.example.spas.dto.UserView;
+import com.example.spas.model.Membership;
+import com.example.spas.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Criteria query behind UserSearchRepository: the specification's filters
+ * with a constructor projection, so only the view's columns are selected.
+ */
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserView> findViews(Specification<User> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserView> query = cb.createQuery(UserView.class);
+        Root<User> user = query.from(User.class);
+        Join<User, Membership> membership = user.join("membership", JoinType.LEFT);
+
+        query.select(cb.construct(UserView.class,
+                user.get("id"),
+                user.get("email"),
+                user.get("firstName"),
+                user.get("lastName"),
+                user.get("phone"),
+                user.get("role"),
+                membership.get("name"),
+                user.get("membershipStatus"),
+                user.get("membershipPeriodEnd"),
+                user.get("membershipAutoRenew")));
+        // No criteria at all gives a null predicate
+        Predicate predicate = spec == null ? null : spec.toPredicate(user, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(user.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.User;
+import com.example.spas.model.enums.MembershipStatus;
+import com.example.spas.model.enums.Role;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filters for the admin user search (Feature 23). Each returns null when its
+ * criterion is not given, so Specification.where(...).and(...) skips it.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> hasRole(Role role) {
+        return role == null ? null : (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> hasMembershipPlan(Long membershipId) {
+        return membershipId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("membership").get("id"), membershipId);
+    }
+
+    public static Specification<User> hasMembershipStatus(MembershipStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("membershipStatus"), status);
+    }
+
+    /**
+     * Email, first name or last name starts with the text, ignoring case.
+     */
+    public static Specification<User> matchesPrefix(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("email")), pattern, '\\'),
+                cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                cb.like(cb.lower(root.get("lastName")), pattern, '\\'));
+    }
+
+    // Keyset pagination: users after the last one of the previous page
+    public static Specification<User> idAfter(Long afterId) {
+        return afterId == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
\ No newline at end of file
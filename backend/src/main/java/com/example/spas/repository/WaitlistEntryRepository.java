@@ -0,0 +1,50 @@
+package com.example.spas.repository;
+
+import com.example.spas.model.WaitlistEntry;
+import com.example.spas.model.enums.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // For User: "my waitlist"
+    List<WaitlistEntry> findAllByCustomerIdOrderByIdDesc(Long customerId);
+
+    // Head of a slot's queue
+    Optional<WaitlistEntry> findFirstByServiceIdAndSlotTimeAndStatusOrderByIdAsc(
+            Long serviceId, LocalDateTime slotTime, WaitlistStatus status);
+
+    // Queue position: entries still waiting ahead of this one
+    long countByServiceIdAndSlotTimeAndStatusAndIdLessThan(
+            Long serviceId, LocalDateTime slotTime, WaitlistStatus status, Long id);
+
+    Optional<WaitlistEntry> findByServiceIdAndSlotTimeAndCustomerId(Long serviceId, LocalDateTime slotTime, Long customerId);
+
+    // Offers that ran out without a booking
+    List<WaitlistEntry> findAllByStatusAndOfferExpiresAtBefore(WaitlistStatus status, LocalDateTime now);
+
+    // Called when the customer books the slot (from the waitlist or not)
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :booked WHERE w.service.id = :serviceId " +
+           "AND w.slotTime = :slotTime AND w.customer.id = :customerId AND w.status IN :open")
+    int markBooked(@Param("serviceId") Long serviceId, @Param("slotTime") LocalDateTime slotTime,
+                   @Param("customerId") Long customerId, @Param("booked") WaitlistStatus booked,
+                   @Param("open") Collection<WaitlistStatus> open);
+
+    // Same as markBooked, for all slots of a recurring series
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :booked WHERE w.service.id = :serviceId " +
+           "AND w.slotTime IN :slotTimes AND w.customer.id = :customerId AND w.status IN :open")
+    int markAllBooked(@Param("serviceId") Long serviceId, @Param("slotTimes") Collection<LocalDateTime> slotTimes,
+                      @Param("customerId") Long customerId, @Param("booked") WaitlistStatus booked,
+                      @Param("open") Collection<WaitlistStatus> open);
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.AdminStatsView;
+import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.model.enums.BookingStatus;
+import com.example.spas.model.enums.MembershipStatus;
+import com.example.spas.model.enums.Role;
+import com.example.spas.repository.BookingRepository;
+import com.example.spas.repository.ServiceRepository;
+import com.example.spas.repository.SpaRepository;
+import com.example.spas.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Feature 23 (admin dashboard): Counts of users, spas, services and bookings.
+ *
+ * Each table is counted with one GROUP BY query, so no entity is loaded.
+ * The result is kept for app.admin-stats.ttl; when it runs out, concurrent
+ * callers share a single reload (SingleFlight).
+ */
+@Service
+public class AdminStatsService {
+
+    private static final String NO_STATUS = "NONE";
+
+    private final UserRepository userRepository;
+    private final SpaRepository spaRepository;
+    private final ServiceRepository serviceRepository;
+    private final BookingRepository bookingRepository;
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration ttl;
+
+    private volatile AdminStatsView cached;
+
+    public AdminStatsService(
+        UserRepository userRepository,
+        SpaRepository spaRepository,
+        ServiceRepository serviceRepository,
+        BookingRepository bookingRepository,
+        SingleFlight singleFlight,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.admin-stats.ttl:30s}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.spaRepository = spaRepository;
+        this.serviceRepository = serviceRepository;
+        this.bookingRepository = bookingRepository;
+        this.singleFlight = singleFlight;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true); // Served by the replica when there is one
+        this.ttl = ttl;
+    }
+
+    /**
+     * The current counts, at most app.admin-stats.ttl old.
+     */
+    @Timed("spas.service")
+    public AdminStatsView getStats() {
+        AdminStatsView stats = cached;
+        if (stats != null && stats.getGeneratedAt().plus(ttl).isAfter(LocalDateTime.now())) {
+            return stats;
+        }
+        return singleFlight.execute("adminStats", "all", this::reload);
+    }
+
+    // --- Helper Methods ---
+
+    private AdminStatsView reload() {
+        // A caller that waited on the previous reload may find it fresh already
+        AdminStatsView stats = cached;
+        if (stats != null && stats.getGeneratedAt().plus(ttl).isAfter(LocalDateTime.now())) {
+            return stats;
+        }
+        stats = readOnlyTransaction.execute(status -> countAll());
+        cached = stats;
+        return stats;
+    }
+
+    private AdminStatsView countAll() {
+        LocalDateTime generatedAt = LocalDateTime.now();
+
+        Map<Role, Long> usersByRole = zeroes(Role.class);
+        Map<String, Long> usersByMembershipStatus = new LinkedHashMap<>();
+        for (MembershipStatus status : MembershipStatus.values()) {
+            usersByMembershipStatus.put(status.name(), 0L);
+        }
+        usersByMembershipStatus.put(NO_STATUS, 0L);
+        Map<String, Long> usersByMembershipPlan = new TreeMap<>();
+        for (UserRepository.UserCount count : userRepository.countByRoleAndMembership()) {
+            usersByRole.merge(count.getRole(), count.getTotal(), Long::sum);
+            String status = count.getMembershipStatus() == null ? NO_STATUS : count.getMembershipStatus().name();
+            usersByMembershipStatus.merge(status, count.getTotal(), Long::sum);
+            if (count.getPlanName() != null) {
+                usersByMembershipPlan.merge(count.getPlanName(), count.getTotal(), Long::sum);
+            }
+        }
+
+        Map<ApprovalStatus, Long> spasByApprovalStatus = zeroes(ApprovalStatus.class);
+        for (SpaRepository.StatusCount count : spaRepository.countByApprovalStatus()) {
+            spasByApprovalStatus.merge(count.getStatus(), count.getTotal(), Long::sum);
+        }
+        Map<ApprovalStatus, Long> servicesByApprovalStatus = zeroes(ApprovalStatus.class);
+        for (SpaRepository.StatusCount count : serviceRepository.countByApprovalStatus()) {
+            servicesByApprovalStatus.merge(count.getStatus(), count.getTotal(), Long::sum);
+        }
+        Map<BookingStatus, Long> bookingsByStatus = zeroes(BookingStatus.class);
+        for (BookingRepository.StatusCount count : bookingRepository.countByStatus()) {
+            bookingsByStatus.merge(count.getStatus(), count.getTotal(), Long::sum);
+        }
+
+        // Shared between callers, so read-only
+        return new AdminStatsView(
+                generatedAt,
+                Collections.unmodifiableMap(usersByRole),
+                Collections.unmodifiableMap(usersByMembershipStatus),
+                Collections.unmodifiableMap(usersByMembershipPlan),
+                Collections.unmodifiableMap(spasByApprovalStatus),
+                Collections.unmodifiableMap(servicesByApprovalStatus),
+                Collections.unmodifiableMap(bookingsByStatus)
+        );
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroes(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.spas.service;
+
+import com.example.spas.repository.ArchivedBookingRepository;
+import com.example.spas.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves finished bookings (anything but PENDING) whose booking time is older
+ * than app.booking-archive.horizon from "bookings" to "bookings_archive", so
+ * the hot table only holds the active booking window.
+ *
+ * Each chunk copies and deletes the same ids in one transaction, so a booking
+ * is always in exactly one of the two tables. Only one instance runs it at a
+ * time (SchedulerLeaseService).
+ */
+@Component
+public class BookingArchiveJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingArchiveJob.class);
+    private static final String LEASE_NAME = "booking-archive";
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration lease;
+
+    public BookingArchiveJob(
+        BookingRepository bookingRepository,
+        ArchivedBookingRepository archivedBookingRepository,
+        SchedulerLeaseService schedulerLeaseService,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.booking-archive.horizon:90d}") Duration horizon,
+        @Value("${app.booking-archive.batch-size:500}") int batchSize,
+        @Value("${app.booking-archive.max-batches-per-run:200}") int maxBatchesPerRun,
+        @Value("${app.booking-archive.lease:30m}") Duration lease
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lease = lease;
+        this.runTimer = Timer.builder("spas.jobs.duration")
+                .description("Run time of scheduled jobs")
+                .tag("job", LEASE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.booking-archive.cron:0 30 3 * * *}")
+    public void archiveFinishedBookings() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            return; // Another instance is on it
+        }
+        try {
+            runTimer.record(this::archiveInBatches);
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    private void archiveInBatches() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(horizon);
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = bookingRepository.findArchivableIds(cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archivedBookingRepository.copyFromBookings(ids, LocalDateTime.now());
+                return bookingRepository.deleteAllByIdIn(ids);
+            });
+            int count = moved == null ? 0 : moved;
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            meterRegistry.counter("spas.bookings.archived").increment(total);
+            logger.info("Archived {} bookings with a booking time before {}", total, cutoff);
+        }
+    }
+}
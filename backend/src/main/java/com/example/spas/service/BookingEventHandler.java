@@ -0,0 +1,25 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingEvent;
+
+/**
+ * A consumer of booking lifecycle events (notifications, analytics, ...).
+ * Every Spring bean implementing this is called by OutboxDispatcher.
+ *
+ * Delivery is at-least-once: after a crash or a failed batch the same event
+ * (same eventId) can arrive again, so handlers must be idempotent.
+ */
+public interface BookingEventHandler {
+
+    /**
+     * Handles one event. Throwing schedules the event for a retry with backoff.
+     */
+    void handle(BookingEvent event);
+
+    /**
+     * Called once after each batch, for handlers that buffer work.
+     * Throwing schedules the whole batch for a retry.
+     */
+    default void flush() {
+    }
+}
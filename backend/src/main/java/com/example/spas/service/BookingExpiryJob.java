@@ -0,0 +1,100 @@
+package com.example.spas.service;
+
+import com.example.spas.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Marks PENDING bookings whose time has passed as EXPIRED, so they stop
+ * showing up in the owners' pending inbox.
+ *
+ * Works in chunks of app.booking-expiry.batch-size rows, each chunk its own
+ * short transaction, so a large backlog never holds long locks. Only one
+ * instance runs it at a time (SchedulerLeaseService).
+ */
+@Component
+public class BookingExpiryJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExpiryJob.class);
+    private static final String LEASE_NAME = "booking-expiry";
+
+    private final BookingRepository bookingRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration grace;
+    private final Duration lease;
+
+    public BookingExpiryJob(
+        BookingRepository bookingRepository,
+        SchedulerLeaseService schedulerLeaseService,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.booking-expiry.batch-size:500}") int batchSize,
+        @Value("${app.booking-expiry.max-batches-per-run:200}") int maxBatchesPerRun,
+        @Value("${app.booking-expiry.grace:15m}") Duration grace,
+        @Value("${app.booking-expiry.lease:5m}") Duration lease
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.grace = grace;
+        this.lease = lease;
+        this.runTimer = Timer.builder("spas.jobs.duration")
+                .description("Run time of scheduled jobs")
+                .tag("job", LEASE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.booking-expiry.interval-ms:300000}",
+        initialDelayString = "${app.booking-expiry.initial-delay-ms:60000}"
+    )
+    public void expireStalePendingBookings() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            return; // Another instance is on it
+        }
+        try {
+            runTimer.record(this::expireInBatches);
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    private void expireInBatches() {
+        // Fixed cutoff for the whole run, so the loop always ends
+        LocalDateTime cutoff = LocalDateTime.now().minus(grace);
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer expired = transactionTemplate.execute(status ->
+                    bookingRepository.expirePendingBefore(cutoff, batchSize));
+            int count = expired == null ? 0 : expired;
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            // Same counter as the other status changes in BookingService
+            meterRegistry.counter("spas.bookings.transitions", "from", "PENDING", "to", "EXPIRED").increment(total);
+            logger.info("Expired {} PENDING bookings with a booking time before {}", total, cutoff);
+        }
+    }
+}
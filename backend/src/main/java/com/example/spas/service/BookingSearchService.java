@@ -0,0 +1,132 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingSearchFilter;
+import com.example.spas.dto.BookingView;
+import com.example.spas.dto.KeysetPage;
+import com.example.spas.model.Booking;
+import com.example.spas.repository.BookingRepository;
+import com.example.spas.repository.BookingSpecifications;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Feature 26 (booking explorer): Admins look up bookings across all spas by
+ * spa, service, customer, status and booking time.
+ *
+ * Results are read as BookingView rows straight from SQL, in (booking
+ * time, id) order. The page endpoint continues after a cursor instead of an
+ * offset, so later pages cost the same as the first; the export streams
+ * every match through a database cursor, so the full list never sits in
+ * memory.
+ */
+@Service
+public class BookingSearchService {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    // Cursor: "<booking time>_<id>" of the last booking on the previous page
+    private static final char CURSOR_SEPARATOR = '_';
+
+    private final BookingRepository bookingRepository;
+    private final int exportFetchSize;
+
+    public BookingSearchService(
+        BookingRepository bookingRepository,
+        @Value("${app.booking-export.fetch-size:500}") int exportFetchSize
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /**
+     * One page of matching bookings. "after" is the nextCursor of the
+     * previous page.
+     * Edge Case: A limit outside 1-200, a malformed cursor or an empty
+     * time range is refused.
+     */
+    @Transactional(readOnly = true)
+    @Timed("spas.service")
+    public KeysetPage<BookingView> searchBookings(BookingSearchFilter filter, String after, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+
+        // --- EDGE CASE LOGIC (Validation) ---
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        Specification<Booking> spec = toSpecification(filter);
+        if (after != null && !after.isBlank()) {
+            spec = spec.and(afterCursor(after));
+        }
+        // --- END EDGE CASE ---
+
+        // One extra row tells whether there is a next page
+        List<BookingView> bookings = bookingRepository.findViews(spec, pageSize + 1);
+        String nextCursor = null;
+        if (bookings.size() > pageSize) {
+            bookings = new ArrayList<>(bookings.subList(0, pageSize));
+            BookingView last = bookings.get(pageSize - 1);
+            nextCursor = last.getBookingTime().toString() + CURSOR_SEPARATOR + last.getId();
+        }
+        return new KeysetPage<>(bookings, nextCursor);
+    }
+
+    /**
+     * Hands every matching booking to the consumer, in page order, while
+     * reading them through a read-only cursor app.booking-export.fetch-size
+     * rows at a time. Returns how many there were.
+     * Edge Case: An empty time range is refused.
+     */
+    @Transactional(readOnly = true)
+    @Timed("spas.service")
+    public long exportBookings(BookingSearchFilter filter, Consumer<BookingView> consumer) {
+        Specification<Booking> spec = toSpecification(filter);
+        long count = 0;
+        try (Stream<BookingView> bookings = bookingRepository.streamViews(spec, exportFetchSize)) {
+            for (BookingView booking : (Iterable<BookingView>) bookings::iterator) {
+                consumer.accept(booking);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // --- Helper Methods ---
+
+    private static Specification<Booking> toSpecification(BookingSearchFilter filter) {
+        // --- EDGE CASE LOGIC (Validation) ---
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getTo().isAfter(filter.getFrom())) {
+            throw new IllegalArgumentException("The end of the time range must be after its start.");
+        }
+        // --- END EDGE CASE ---
+
+        return Specification.where(BookingSpecifications.atSpa(filter.getSpaId()))
+                .and(BookingSpecifications.forService(filter.getServiceId()))
+                .and(BookingSpecifications.forCustomer(filter.getCustomerId()))
+                .and(BookingSpecifications.hasStatus(filter.getStatus()))
+                .and(BookingSpecifications.bookedBetween(filter.getFrom(), filter.getTo()));
+    }
+
+    private static Specification<Booking> afterCursor(String cursor) {
+        int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+        try {
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            LocalDateTime bookingTime = LocalDateTime.parse(cursor.substring(0, separator));
+            Long id = Long.valueOf(cursor.substring(separator + 1));
+            return BookingSpecifications.after(bookingTime, id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -2,17 +2,27 @@ package com.example.spas.service;
 
 import com.example.spas.dto.AvailabilityResponse;
 import com.example.spas.dto.BookingRequest;
+import com.example.spas.dto.BookingSeriesView;
 import com.example.spas.dto.BookingView;
+import com.example.spas.dto.RecurringBookingRequest;
 import com.example.spas.exception.ResourceNotFoundException;
 import com.example.spas.model.*;
 import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.model.enums.BookingEventType;
 import com.example.spas.model.enums.BookingStatus;
-import com.example.spas.model.enums.MembershipStatus;
 import com.example.spas.model.enums.ServiceStatus;
+import com.example.spas.monitoring.BookingStepEvent;
+import com.example.spas.repository.ArchivedBookingRepository;
 import com.example.spas.repository.BookingRepository;
+import com.example.spas.repository.BookingSeriesRepository;
+import com.example.spas.repository.IdempotencyRecordRepository;
 import com.example.spas.repository.ServiceRepository;
 import com.example.spas.repository.SpaRepository;
 import com.example.spas.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,24 +30,63 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
 public class BookingService {
 
+    /** Bookings in these statuses occupy their slot; the others free it again. */
+    public static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ServiceRepository serviceRepository;
     private final SpaRepository spaRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final ReservationHoldService reservationHoldService;
+    private final WaitlistService waitlistService;
+    private final SlotCapacityService slotCapacityService;
+    private final SpaScheduleService spaScheduleService;
+    private final PricingService pricingService;
+    private final PromoCodeService promoCodeService;
+    private final OutboxService outboxService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
 
     public BookingService(BookingRepository bookingRepository, UserRepository userRepository, 
-                          ServiceRepository serviceRepository, SpaRepository spaRepository) {
+                          ServiceRepository serviceRepository, SpaRepository spaRepository,
+                          IdempotencyRecordRepository idempotencyRecordRepository,
+                          ArchivedBookingRepository archivedBookingRepository,
+                          BookingSeriesRepository bookingSeriesRepository,
+                          ReservationHoldService reservationHoldService,
+                          WaitlistService waitlistService,
+                          SlotCapacityService slotCapacityService,
+                          SpaScheduleService spaScheduleService,
+                          PricingService pricingService,
+                          PromoCodeService promoCodeService,
+                          OutboxService outboxService, JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.serviceRepository = serviceRepository;
         this.spaRepository = spaRepository;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.bookingSeriesRepository = bookingSeriesRepository;
+        this.reservationHoldService = reservationHoldService;
+        this.waitlistService = waitlistService;
+        this.slotCapacityService = slotCapacityService;
+        this.spaScheduleService = spaScheduleService;
+        this.pricingService = pricingService;
+        this.promoCodeService = promoCodeService;
+        this.outboxService = outboxService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -45,27 +94,120 @@ public class BookingService {
      * This is transactional to prevent race conditions.
      */
     @Transactional
+    @Timed("spas.service")
     public BookingView createBooking(BookingRequest request, Long customerId) {
-        User customer = userRepository.findById(customerId)
+        return mapToBookingView(placeBooking(request, customerId));
+    }
+
+    /**
+     * Feature 4 (retry-safe): Same as createBooking, but also stores the client's
+     * Idempotency-Key in the same transaction. If another request already stored
+     * this key, the unique constraint fails and the whole booking rolls back.
+     * Edge Case: A retry that raced the first request waits for the
+     * customer's row lock and then replays its booking, instead of failing
+     * the overlap check against it.
+     */
+    @Transactional
+    @Timed("spas.service")
+    public BookingView createBooking(BookingRequest request, Long customerId, String idempotencyKey) {
+        // The row lock placeBooking takes, taken before the key is checked:
+        // once the first request commits, its key is visible here
+        userRepository.findByIdForUpdate(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + customerId));
+        Optional<BookingView> stored = storedBooking(customerId, idempotencyKey, request);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        Booking savedBooking = placeBooking(request, customerId);
+        idempotencyRecordRepository.save(new IdempotencyRecord(
+                idempotencyKey,
+                requestFingerprint(request),
+                savedBooking.getCustomer(),
+                savedBooking
+        ));
+        return mapToBookingView(savedBooking);
+    }
+
+    /**
+     * Looks up the booking created earlier with this Idempotency-Key.
+     * Not read-only: a lagging replica may not have the key yet, and the
+     * retry would then try to book again instead of replaying.
+     * Edge Case: Reusing a key for a different service or time is rejected.
+     */
+    @Transactional
+    public Optional<BookingView> findIdempotentBooking(Long customerId, String idempotencyKey, BookingRequest request) {
+        return storedBooking(customerId, idempotencyKey, request);
+    }
+
+    /**
+     * Identifies "the same booking request" for idempotency checks.
+     */
+    public static String requestFingerprint(BookingRequest request) {
+        String fingerprint = request.getServiceId() + "|" + request.getBookingTime();
+        return hasPromoCode(request) ? fingerprint + "|" + request.getPromoCode().trim() : fingerprint;
+    }
+
+    private Booking placeBooking(BookingRequest request, Long customerId) {
+        // JFR: each step below is recorded as a BookingStepEvent
+        BookingStepEvent step = BookingStepEvent.begin("lookupCustomer", customerId, request.getServiceId());
+        // Row lock until commit: the same customer's bookings are placed one
+        // at a time, so two concurrent requests cannot both pass the overlap check
+        User customer = userRepository.findByIdForUpdate(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + customerId));
+        step.commit();
         
+        step = BookingStepEvent.begin("lookupService", customerId, request.getServiceId());
         com.example.spas.model.Service service = serviceRepository.findById(request.getServiceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + request.getServiceId()));
+        step.commit();
 
         // ... (edge case checks for approval, availability, and slotTaken are the same) ...
 
+        // --- EDGE CASE LOGIC (Opening hours) ---
+        step = BookingStepEvent.begin("checkHours", customerId, request.getServiceId());
+        spaScheduleService.requireOpen(service, request.getBookingTime());
+        step.commit();
+
+        // --- EDGE CASE LOGIC (Overlap) ---
+        // A customer cannot be in two treatments at once.
+        step = BookingStepEvent.begin("checkOverlap", customerId, request.getServiceId());
+        rejectOverlap(customerId, request.getBookingTime(), service.getDurationInMinutes());
+        step.commit();
+
+        // --- EDGE CASE LOGIC (Slot capacity) ---
+        // Takes the service's and the spa's capacity for every 15 minutes of
+        // the treatment, leaving what other customers hold free for them.
+        // Cancelled, declined and expired bookings have given theirs back.
+        step = BookingStepEvent.begin("checkSlot", customerId, request.getServiceId());
+        slotCapacityService.allocate(service, request.getBookingTime(), customerId);
+        step.commit();
+
+        // --- EDGE CASE LOGIC (Holds) ---
+        // The customer's own hold is used up by this booking.
+        step = BookingStepEvent.begin("checkHold", customerId, request.getServiceId());
+        reservationHoldService.consumeOwnHold(service.getId(), request.getBookingTime(), customerId);
+        waitlistService.markBooked(service.getId(), request.getBookingTime(), customerId);
+        step.commit();
+
+        // --- EDGE CASE LOGIC (Promo code) ---
+        // Takes one of the code's limited redemptions; given back if this
+        // booking rolls back.
+        PromoCode promoCode = null;
+        if (hasPromoCode(request)) {
+            step = BookingStepEvent.begin("claimPromo", customerId, request.getServiceId());
+            promoCode = promoCodeService.claim(request.getPromoCode(), customerId);
+            step.commit();
+        }
+
         // --- NEW LOGIC: CALCULATE PRICE ONCE ---
-        Double originalPrice = service.getPrice();
-        Double priceToSave = originalPrice; // Default to full price
-
-        // Check for active membership and apply discount
-        if (customer.getMembership() != null && customer.getMembershipStatus() == MembershipStatus.ACTIVE) {
-            Double discountPercent = customer.getMembership().getDiscountPercentage();
-            if (discountPercent != null && discountPercent > 0) {
-                double discountAmount = originalPrice * (discountPercent / 100.0);
-                priceToSave = originalPrice - discountAmount;
-            }
+        step = BookingStepEvent.begin("calculatePrice", customerId, request.getServiceId());
+        Double priceToSave = pricingService.finalPrice(customer, service);
+        if (promoCode != null) {
+            // On top of the membership discount
+            priceToSave = pricingService.applyDiscount(priceToSave, promoCode.getDiscountPercentage());
         }
+        step.commit();
         // --- END NEW LOGIC ---
 
         // --- UPDATE CONSTRUCTOR CALL ---
@@ -80,26 +222,112 @@ public class BookingService {
 
         // ... (status setting and save are the same) ...
 
+        step = BookingStepEvent.begin("save", customerId, request.getServiceId());
         Booking savedBooking = bookingRepository.save(booking);
-        return mapToBookingView(savedBooking);
+        if (promoCode != null) {
+            promoCodeService.recordRedemption(promoCode, customer, savedBooking);
+        }
+        step.commit();
+        recordTransition(null, savedBooking.getStatus());
+        outboxService.record(BookingEventType.BOOKING_CREATED, savedBooking);
+        return savedBooking;
+    }
+
+    /**
+     * Feature 4 (recurring): User books the same service at the same time
+     * every week or every other week, N times, in one request.
+     * Either every occurrence is booked or none is: the overlap check is one
+     * range query, the capacity counters are raised in one JDBC batch per
+     * scope, and the bookings are inserted in one more.
+     */
+    @Transactional
+    @Timed("spas.service")
+    public BookingSeriesView createSeries(RecurringBookingRequest request, Long customerId) {
+        BookingStepEvent step = BookingStepEvent.begin("lookupCustomer", customerId, request.getServiceId());
+        // Same row lock as placeBooking, so the overlap check stays valid
+        User customer = userRepository.findByIdForUpdate(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + customerId));
+        step.commit();
+
+        step = BookingStepEvent.begin("lookupService", customerId, request.getServiceId());
+        com.example.spas.model.Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + request.getServiceId()));
+        step.commit();
+
+        List<LocalDateTime> slotTimes = new ArrayList<>(request.getOccurrences());
+        for (int i = 0; i < request.getOccurrences(); i++) {
+            slotTimes.add(request.getFirstBookingTime().plusWeeks((long) i * request.getFrequency().getWeeksBetween()));
+        }
+
+        // --- EDGE CASE LOGIC (Business Rules) ---
+        step = BookingStepEvent.begin("checkHours", customerId, request.getServiceId());
+        if (service.getApprovalStatus() != ApprovalStatus.APPROVED
+                || service.getServiceStatus() != ServiceStatus.AVAILABLE) {
+            throw new IllegalStateException("This service is not available for booking.");
+        }
+        for (LocalDateTime slotTime : slotTimes) {
+            if (!spaScheduleService.isOpen(service, slotTime)) {
+                throw new IllegalStateException("The spa is not open for this service on " + slotTime + ".");
+            }
+        }
+        step.commit();
+
+        step = BookingStepEvent.begin("checkOverlap", customerId, request.getServiceId());
+        rejectOverlaps(customerId, slotTimes, service.getDurationInMinutes());
+        step.commit();
+
+        // --- EDGE CASE LOGIC (Slot capacity) ---
+        // Same rules as placeBooking, for all slots at once
+        step = BookingStepEvent.begin("checkSlot", customerId, request.getServiceId());
+        slotCapacityService.allocateAll(service, slotTimes, customerId);
+        step.commit();
+        // --- END EDGE CASE ---
+
+        step = BookingStepEvent.begin("checkHold", customerId, request.getServiceId());
+        reservationHoldService.consumeOwnHolds(service.getId(), slotTimes, customerId);
+        waitlistService.markAllBooked(service.getId(), slotTimes, customerId);
+        step.commit();
+
+        step = BookingStepEvent.begin("save", customerId, request.getServiceId());
+        BookingSeries series = bookingSeriesRepository.save(new BookingSeries(
+                request.getFrequency(), slotTimes.size(), request.getFirstBookingTime(), customer, service));
+        insertSeriesBookings(series, slotTimes, pricingService.finalPrice(customer, service));
+        List<Booking> bookings = bookingRepository.findAllBySeriesIdOrderByBookingTimeAsc(series.getId());
+        step.commit();
+
+        List<BookingView> bookingViews = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            recordTransition(null, booking.getStatus());
+            outboxService.record(BookingEventType.BOOKING_CREATED, booking);
+            bookingViews.add(mapToBookingView(booking));
+        }
+        return new BookingSeriesView(series.getId(), series.getFrequency(), bookingViews);
     }
 
     /**
      * Feature 6: User views their bookings
+     * Archived (old, finished) bookings are only included when includeHistory is set.
      */
-    public List<BookingView> getUserBookings(Long customerId) {
+    @Transactional(readOnly = true)
+    public List<BookingView> getUserBookings(Long customerId, boolean includeHistory) {
         List<Booking> bookings = bookingRepository.findAllByCustomerId(customerId);
         List<BookingView> bookingViews = new ArrayList<>();
         
         for (Booking booking : bookings) {
             bookingViews.add(mapToBookingView(booking));
         }
+        if (includeHistory) {
+            for (ArchivedBooking archived : archivedBookingRepository.findAllByCustomerId(customerId)) {
+                bookingViews.add(mapToBookingView(archived));
+            }
+        }
         return bookingViews;
     }
 
     /**
      * Feature 7: User cancels a booking
      */
+    @Transactional
     public BookingView cancelBooking(Long bookingId, Long customerId) {
         Booking booking = getBookingById(bookingId);
 
@@ -116,42 +344,36 @@ public class BookingService {
         // --- END EDGE CASE ---
         
         booking.setStatus(BookingStatus.CANCELLED_BY_USER);
+        recordTransition(BookingStatus.PENDING, BookingStatus.CANCELLED_BY_USER);
+        slotCapacityService.release(booking.getService(), booking.getBookingTime());
         Booking updatedBooking = bookingRepository.save(booking);
+        outboxService.record(BookingEventType.BOOKING_CANCELLED, updatedBooking);
         return mapToBookingView(updatedBooking);
     }
 
     /**
      * Feature 9: Check Availability
-     * Note: This is a simple 1-hour slot check. A real-world edge case
-     * would be to check if a 90-minute service can fit, which this logic does not do.
+     * Offers the hourly start times at which the whole service fits inside
+     * the spa's opening hours and that still have free capacity.
      */
+    @Transactional(readOnly = true)
+    @Timed("spas.service")
     public AvailabilityResponse checkAvailability(Long serviceId, LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+        com.example.spas.model.Service service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + serviceId));
 
-        List<Booking> existingBookings = bookingRepository
-                .findAllByServiceIdAndBookingTimeBetween(serviceId, startOfDay, endOfDay);
-        
-        Set<LocalTime> bookedTimes = new HashSet<>();
-        for (Booking booking : existingBookings) {
-            bookedTimes.add(booking.getBookingTime().toLocalTime());
-        }
+        List<LocalTime> candidateSlots = spaScheduleService.startTimes(service, date);
 
-        List<LocalTime> availableSlots = new ArrayList<>();
-        // Assuming spa hours are 9:00 to 17:00 (9am to 5pm)
-        for (int hour = 9; hour <= 17; hour++) {
-            LocalTime slot = LocalTime.of(hour, 0);
-            if (!bookedTimes.contains(slot)) {
-                availableSlots.add(slot);
-            }
-        }
-        
+        // A slot is offered while the service and the spa both have a free
+        // unit left after bookings and checkout holds
+        List<LocalTime> availableSlots = slotCapacityService.freeSlots(service, date, candidateSlots);
         return new AvailabilityResponse(availableSlots);
     }
 
     /**
      * Feature 13: Client confirms or declines a booking
      */
+    @Transactional
     public BookingView updateBookingStatus(Long bookingId, BookingStatus status, Long ownerId) {
         Booking booking = getBookingById(bookingId);
 
@@ -177,13 +399,22 @@ public class BookingService {
         // --- END EDGE CASE ---
 
         booking.setStatus(status);
+        recordTransition(BookingStatus.PENDING, status);
+        if (status == BookingStatus.DECLINED_BY_CLIENT) {
+            slotCapacityService.release(booking.getService(), booking.getBookingTime());
+        }
         Booking updatedBooking = bookingRepository.save(booking);
+        outboxService.record(
+                status == BookingStatus.CONFIRMED ? BookingEventType.BOOKING_CONFIRMED : BookingEventType.BOOKING_DECLINED,
+                updatedBooking
+        );
         return mapToBookingView(updatedBooking);
     }
 
     /**
      * Feature 16 & 17: Client views bookings (with/without filter)
      */
+    @Transactional(readOnly = true)
     public List<BookingView> getBookingsForSpa(Long spaId, Long ownerId) {
         Spa spa = spaRepository.findById(spaId)
              .orElseThrow(() -> new ResourceNotFoundException("Spa not found with id: " + spaId));
@@ -201,6 +432,7 @@ public class BookingService {
         return bookingViews;
     }
 
+    @Transactional(readOnly = true)
     public List<BookingView> getBookingsForSpaByStatus(Long spaId, BookingStatus status, Long ownerId) {
         Spa spa = spaRepository.findById(spaId)
              .orElseThrow(() -> new ResourceNotFoundException("Spa not found with id: " + spaId));
@@ -226,6 +458,95 @@ public class BookingService {
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
     }
 
+    /**
+     * Edge Case: Rejects a booking overlapping one of the customer's active
+     * bookings, comparing [start, start + duration) intervals. Only bookings
+     * starting within a day before the new one can reach it, so the range
+     * query reads a handful of index entries, never the whole history.
+     */
+    private void rejectOverlap(Long customerId, LocalDateTime start, Integer durationInMinutes) {
+        LocalDateTime end = start.plusMinutes(durationOrDefault(durationInMinutes));
+        List<BookingRepository.BookedInterval> nearby = bookingRepository.findIntervalsForCustomer(
+                customerId, start.minusDays(1), end, ACTIVE_STATUSES);
+        for (BookingRepository.BookedInterval booked : nearby) {
+            LocalDateTime bookedEnd = booked.getBookingTime().plusMinutes(durationOrDefault(booked.getDurationInMinutes()));
+            if (bookedEnd.isAfter(start)) {
+                throw new IllegalStateException("You already have a booking at an overlapping time (booking #" + booked.getId() + ").");
+            }
+        }
+    }
+
+    /**
+     * rejectOverlap for all occurrences of a series, with one range query
+     * covering them all.
+     */
+    private void rejectOverlaps(Long customerId, List<LocalDateTime> starts, Integer durationInMinutes) {
+        int duration = durationOrDefault(durationInMinutes);
+        LocalDateTime first = starts.get(0);
+        LocalDateTime lastEnd = starts.get(starts.size() - 1).plusMinutes(duration);
+        List<BookingRepository.BookedInterval> nearby = bookingRepository.findIntervalsForCustomer(
+                customerId, first.minusDays(1), lastEnd, ACTIVE_STATUSES);
+        for (BookingRepository.BookedInterval booked : nearby) {
+            LocalDateTime bookedEnd = booked.getBookingTime().plusMinutes(durationOrDefault(booked.getDurationInMinutes()));
+            for (LocalDateTime start : starts) {
+                if (booked.getBookingTime().isBefore(start.plusMinutes(duration)) && bookedEnd.isAfter(start)) {
+                    throw new IllegalStateException("You already have a booking at an overlapping time on "
+                            + start.toLocalDate() + " (booking #" + booked.getId() + ").");
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the PENDING bookings of a series as one JDBC batch.
+     * Hibernate cannot batch these inserts: IDENTITY ids are fetched row by row.
+     */
+    private void insertSeriesBookings(BookingSeries series, List<LocalDateTime> slotTimes, Double price) {
+        com.example.spas.model.Service service = series.getService();
+        List<Object[]> rows = new ArrayList<>(slotTimes.size());
+        for (LocalDateTime slotTime : slotTimes) {
+            rows.add(new Object[] {slotTime, BookingStatus.PENDING.name(), price,
+                    series.getCustomer().getId(), service.getSpa().getId(), service.getId(), series.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (booking_time, status, final_price, customer_user_id, " +
+                "spa_id, service_id, series_id) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private Optional<BookingView> storedBooking(Long customerId, String idempotencyKey, BookingRequest request) {
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository
+                .findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey);
+        if (record.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!record.get().getRequestFingerprint().equals(requestFingerprint(request))) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different booking request.");
+        }
+        return Optional.of(mapToBookingView(record.get().getBooking()));
+    }
+
+    private static boolean hasPromoCode(BookingRequest request) {
+        return request.getPromoCode() != null && !request.getPromoCode().isBlank();
+    }
+
+    private static int durationOrDefault(Integer durationInMinutes) {
+        return durationInMinutes == null || durationInMinutes <= 0
+                ? SpaScheduleService.DEFAULT_DURATION_MINUTES
+                : durationInMinutes;
+    }
+
+    /**
+     * Counts booking status changes, e.g. PENDING -> CONFIRMED.
+     * A null "from" means the booking was just created.
+     */
+    private void recordTransition(BookingStatus from, BookingStatus to) {
+        Counter.builder("spas.bookings.transitions")
+                .description("Booking status transitions")
+                .tag("from", from == null ? "NEW" : from.name())
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
     private BookingView mapToBookingView(Booking booking) {
         User customer = booking.getCustomer();
         Spa spa = booking.getSpa();
@@ -245,7 +566,7 @@ public class BookingService {
                 booking.getBookingTime(),
                 booking.getStatus(),
                 customer.getId(),
-                customer.getFirstName() + " " + customer.getLastName(),
+                customerName(customer),
                 spa.getId(),
                 spa.getName(),
                 service.getId(),
@@ -254,6 +575,33 @@ public class BookingService {
                 finalPrice     // <-- Pass final (discounted) price
         );
     }
+
+    // "First Last", or "First" without a last name; BookingSearchRepositoryImpl
+    // builds the same string in its projection
+    private static String customerName(User customer) {
+        String lastName = customer.getLastName() == null ? "" : customer.getLastName();
+        return (customer.getFirstName() + " " + lastName).trim();
+    }
+
+    private BookingView mapToBookingView(ArchivedBooking archived) {
+        User customer = archived.getCustomer();
+        Spa spa = archived.getSpa();
+        com.example.spas.model.Service service = archived.getService();
+
+        return new BookingView(
+                archived.getId(),
+                archived.getBookingTime(),
+                archived.getStatus(),
+                customer.getId(),
+                customerName(customer),
+                spa.getId(),
+                spa.getName(),
+                service.getId(),
+                service.getName(),
+                service.getPrice(),
+                archived.getFinalPrice()
+        );
+    }
     
     
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingRequest;
+import com.example.spas.dto.BookingView;
+import com.example.spas.repository.IdempotencyRecordRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Feature 4 (retry-safe): Makes "Book a service" safe to retry with an
+ * Idempotency-Key header. The same key (per customer) always returns the
+ * booking created by the first request.
+ *
+ * The idempotency_keys table is the source of truth, so this works across
+ * app instances. The in-memory map on top only coalesces concurrent retries
+ * on this instance (they wait for the first one instead of racing it) and
+ * answers repeats without a database round trip.
+ */
+@Service
+public class IdempotentBookingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotentBookingService.class);
+
+    /** Matches the idempotency_key column length. */
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final BookingService bookingService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Duration retention;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotentBookingService(
+        BookingService bookingService,
+        IdempotencyRecordRepository idempotencyRecordRepository,
+        @Value("${app.idempotency.ttl:10m}") Duration ttl,
+        @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+        @Value("${app.idempotency.retention:24h}") Duration retention
+    ) {
+        this.bookingService = bookingService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.retention = retention;
+    }
+
+    /**
+     * Creates a booking, or returns the one already created with this key.
+     * Edge Case: No key means a plain, non-idempotent booking.
+     * Edge Case: Reusing a key for a different service or time is rejected.
+     */
+    public BookingView createBooking(BookingRequest request, Long customerId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return bookingService.createBooking(request, customerId);
+        }
+        String key = idempotencyKey.trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String fingerprint = BookingService.requestFingerprint(request);
+        String scopedKey = customerId + ":" + key;
+
+        // --- EDGE CASE LOGIC ---
+        // Only the first caller for a key does the work; concurrent
+        // retries with the same key wait for its result.
+        Entry mine = new Entry(fingerprint);
+        Entry existing = entries.putIfAbsent(scopedKey, mine);
+        if (existing != null && existing.isExpired()) {
+            entries.remove(scopedKey, existing);
+            existing = entries.putIfAbsent(scopedKey, mine);
+        }
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different booking request.");
+            }
+            return await(existing.result);
+        }
+        evictIfFull();
+
+        try {
+            BookingView booking = bookingService.findIdempotentBooking(customerId, key, request)
+                .orElseGet(() -> createOrReplay(request, customerId, key));
+            mine.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+            mine.result.complete(booking);
+            return booking;
+        } catch (RuntimeException e) {
+            // A failed attempt must not be replayed; the next retry runs again.
+            entries.remove(scopedKey, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Removes expired keys from memory and old keys from the database.
+     * Safe to run on every instance at once (a plain DELETE by age).
+     */
+    @Scheduled(
+        fixedDelayString = "${app.idempotency.purge-interval-ms:600000}",
+        initialDelayString = "${app.idempotency.purge-interval-ms:600000}"
+    )
+    public void purgeExpired() {
+        entries.values().removeIf(Entry::isExpired);
+        int deleted = idempotencyRecordRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Purged {} idempotency keys older than {}", deleted, retention);
+        }
+    }
+
+    private BookingView createOrReplay(BookingRequest request, Long customerId, String key) {
+        try {
+            return bookingService.createBooking(request, customerId, key);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored this key first; its booking wins and
+            // ours was rolled back with the failed insert.
+            return bookingService.findIdempotentBooking(customerId, key, request).orElseThrow(() -> e);
+        }
+    }
+
+    private static BookingView await(CompletableFuture<BookingView> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Keeps the map bounded. Completed entries are only a cache of the
+     * database, so dropping them is always safe; in-flight ones are kept.
+     */
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.values().removeIf(Entry::isExpired);
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            if (it.next().result.isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final CompletableFuture<BookingView> result = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE; // set once the result is known
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
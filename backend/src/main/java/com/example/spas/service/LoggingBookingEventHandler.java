@@ -0,0 +1,29 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in for email/SMS notifications: writes one line per booking event to
+ * the "spas.booking-events" logger, which can be routed to its own file.
+ */
+@Component
+public class LoggingBookingEventHandler implements BookingEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger("spas.booking-events");
+
+    @Override
+    public void handle(BookingEvent event) {
+        logger.info("event={} type={} booking={} customer={} spa={} service={} time={} status={}",
+                event.getEventId(),
+                event.getType(),
+                event.getBookingId(),
+                event.getCustomerId(),
+                event.getSpaId(),
+                event.getServiceId(),
+                event.getBookingTime(),
+                event.getStatus());
+    }
+}
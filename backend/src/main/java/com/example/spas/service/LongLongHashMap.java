@@ -0,0 +1,103 @@
+package com.example.spas.service;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Open-addressing hash map from long to long, without boxing. Keys and
+ * values sit side by side in one long[] (key at 2i, value at 2i + 1), so a
+ * lookup is a few array reads. Key 0 marks an empty slot and cannot be used.
+ *
+ * Not thread-safe on its own; callers synchronize. get() never throws or
+ * loops forever on a table that changes under it, so it may run under an
+ * optimistic read that is validated afterwards.
+ */
+final class LongLongHashMap {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private long[] table = new long[2 * MIN_CAPACITY]; // capacity is a power of two
+    private int size;
+
+    /** The value for key, or "missing" if there is none. */
+    long get(long key, long missing) {
+        long[] slots = table;
+        int mask = (slots.length >> 1) - 1;
+        int i = index(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long slotKey = slots[2 * i];
+            if (slotKey == key) {
+                return slots[2 * i + 1];
+            }
+            if (slotKey == 0) {
+                return missing;
+            }
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    void put(long key, long value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        if ((size + 1) * 4L > (table.length >> 1) * 3L) {
+            table = rehash(table, table.length * 2, k -> false);
+        }
+        if (insert(table, key, value)) {
+            size++;
+        }
+    }
+
+    /** Drops every entry whose key matches. Rebuilds the table: meant for rare changes. */
+    void removeIf(LongPredicate filter) {
+        long[] rebuilt = rehash(table, table.length, filter);
+        int kept = 0;
+        for (int i = 0; i < rebuilt.length; i += 2) {
+            if (rebuilt[i] != 0) {
+                kept++;
+            }
+        }
+        table = rebuilt;
+        size = kept;
+    }
+
+    void clear() {
+        table = new long[2 * MIN_CAPACITY];
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // --- Helper Methods ---
+
+    /** Copies the entries not matching "drop" into a new table of the given length. */
+    private static long[] rehash(long[] old, int length, LongPredicate drop) {
+        long[] slots = new long[length];
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != 0 && !drop.test(old[i])) {
+                insert(slots, old[i], old[i + 1]);
+            }
+        }
+        return slots;
+    }
+
+    /** True if a new key was added, false if an existing one was overwritten. */
+    private static boolean insert(long[] slots, long key, long value) {
+        int mask = (slots.length >> 1) - 1;
+        int i = index(key, mask);
+        while (slots[2 * i] != 0 && slots[2 * i] != key) {
+            i = (i + 1) & mask;
+        }
+        boolean added = slots[2 * i] == 0;
+        slots[2 * i] = key;
+        slots[2 * i + 1] = value;
+        return added;
+    }
+
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
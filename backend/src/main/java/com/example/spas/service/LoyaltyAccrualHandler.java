@@ -0,0 +1,43 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingEvent;
+import com.example.spas.model.enums.BookingEventType;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the confirmations of a dispatch batch and writes their loyalty
+ * points in one go when the batch is flushed.
+ * Runs on the outbox dispatcher thread, never inside the client's request.
+ */
+@Component
+public class LoyaltyAccrualHandler implements BookingEventHandler {
+
+    private final LoyaltyService loyaltyService;
+    private final List<BookingEvent> buffer = new ArrayList<>();
+
+    public LoyaltyAccrualHandler(LoyaltyService loyaltyService) {
+        this.loyaltyService = loyaltyService;
+    }
+
+    @Override
+    public synchronized void handle(BookingEvent event) {
+        if (event.getType() == BookingEventType.BOOKING_CONFIRMED) {
+            buffer.add(event);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        try {
+            loyaltyService.appendAccruals(new ArrayList<>(buffer));
+        } finally {
+            // On failure the dispatcher retries the whole batch, which refills the buffer
+            buffer.clear();
+        }
+    }
+}
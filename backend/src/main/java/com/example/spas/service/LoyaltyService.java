@@ -0,0 +1,165 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingEvent;
+import com.example.spas.dto.LoyaltyEntryView;
+import com.example.spas.dto.LoyaltyView;
+import com.example.spas.model.LoyaltyEntry;
+import com.example.spas.model.enums.LoyaltyReason;
+import com.example.spas.repository.LoyaltyEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Feature 25 (loyalty points): Customers earn points for confirmed bookings.
+ *
+ * The ledger is append-only. Accruals come from the booking event outbox
+ * (LoyaltyAccrualHandler), buffered per dispatch batch and inserted as one
+ * JDBC batch. Balances are snapshots that a periodic job moves forward, so
+ * reading a balance only adds up the entries since the last run.
+ */
+@Service
+public class LoyaltyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoyaltyService.class);
+    private static final String LEASE_NAME = "loyalty-snapshot";
+
+    // Skips bookings that already earned their points (redelivered events)
+    private static final String INSERT_ACCRUAL_SQL = "INSERT INTO loyalty_ledger " +
+            "(customer_user_id, booking_id, points, reason, created_at) SELECT ?, ?, ?, ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM loyalty_ledger WHERE booking_id = ? AND reason = ?)";
+
+    private final LoyaltyEntryRepository loyaltyEntryRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer snapshotTimer;
+    private final double pointsPerUnit;
+    private final Duration settle;
+    private final Duration lease;
+
+    public LoyaltyService(
+        LoyaltyEntryRepository loyaltyEntryRepository,
+        SchedulerLeaseService schedulerLeaseService,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.loyalty.points-per-unit:1}") double pointsPerUnit,
+        @Value("${app.loyalty.snapshot-settle:1m}") Duration settle,
+        @Value("${app.loyalty.snapshot-lease:5m}") Duration lease
+    ) {
+        this.loyaltyEntryRepository = loyaltyEntryRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.snapshotTimer = Timer.builder("spas.jobs.duration")
+                .description("Run time of scheduled jobs")
+                .tag("job", LEASE_NAME)
+                .register(meterRegistry);
+        this.pointsPerUnit = pointsPerUnit;
+        this.settle = settle;
+        this.lease = lease;
+    }
+
+    /**
+     * Feature 25: User views their points balance and latest ledger lines.
+     */
+    @Transactional(readOnly = true)
+    public LoyaltyView getLoyalty(Long customerId) {
+        List<LoyaltyEntryView> recent = new ArrayList<>();
+        for (LoyaltyEntry entry : loyaltyEntryRepository.findTop10ByCustomerIdOrderByIdDesc(customerId)) {
+            recent.add(mapToLoyaltyEntryView(entry));
+        }
+        return new LoyaltyView(customerId, loyaltyEntryRepository.getBalance(customerId), recent);
+    }
+
+    /**
+     * Appends the points of confirmed bookings as one JDBC batch.
+     * Edge Case: A booking that already earned its points is skipped, so
+     * redelivered events are harmless.
+     */
+    @Transactional
+    public void appendAccruals(List<BookingEvent> confirmed) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String reason = LoyaltyReason.BOOKING_CONFIRMED.name();
+        List<Object[]> rows = new ArrayList<>(confirmed.size());
+        for (BookingEvent event : confirmed) {
+            int points = pointsFor(event.getFinalPrice());
+            if (points > 0) {
+                rows.add(new Object[] {event.getCustomerId(), event.getBookingId(), points, reason, now,
+                        event.getBookingId(), reason});
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        int added = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_ACCRUAL_SQL, rows)) {
+            added += Math.max(count, 0);
+        }
+        meterRegistry.counter("spas.loyalty.accruals").increment(added);
+    }
+
+    /**
+     * Folds settled ledger entries into the balance snapshots. Only one
+     * instance runs it at a time (SchedulerLeaseService).
+     */
+    @Scheduled(
+        fixedDelayString = "${app.loyalty.snapshot-interval-ms:300000}",
+        initialDelayString = "${app.loyalty.snapshot-initial-delay-ms:60000}"
+    )
+    public void snapshotBalances() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            return; // Another instance is on it
+        }
+        try {
+            snapshotTimer.record(() -> transactionTemplate.executeWithoutResult(status -> foldSettledEntries()));
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private void foldSettledEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        // Entries are numbered when inserted but may commit out of order;
+        // once settled, no lower id can still appear
+        Long upTo = loyaltyEntryRepository.findLastIdCreatedBefore(now.minus(settle));
+        if (upTo == null) {
+            return;
+        }
+        int created = loyaltyEntryRepository.insertMissingSnapshots(upTo, now);
+        int advanced = loyaltyEntryRepository.advanceSnapshots(upTo, now);
+        logger.debug("Loyalty snapshots up to entry {}: {} created, {} advanced", upTo, created, advanced);
+    }
+
+    private int pointsFor(Double finalPrice) {
+        return finalPrice == null ? 0 : (int) Math.floor(finalPrice * pointsPerUnit);
+    }
+
+    private LoyaltyEntryView mapToLoyaltyEntryView(LoyaltyEntry entry) {
+        return new LoyaltyEntryView(
+                entry.getId(),
+                entry.getBookingId(),
+                entry.getPoints(),
+                entry.getReason(),
+                entry.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.spas.service;
+
+import com.example.spas.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ends membership billing periods: members with auto-renew on start their
+ * next period, the others' memberships expire (as if cancelled).
+ *
+ * Due members are read in chunks in (period end, id) order, each chunk
+ * starting after the last member of the previous one, so a run reads every
+ * due member once and nothing else. Each chunk is renewed with one JDBC
+ * batch and expired with one UPDATE in its own short transaction. Only one
+ * instance runs it at a time (SchedulerLeaseService).
+ */
+@Component
+public class MembershipRenewalJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(MembershipRenewalJob.class);
+    private static final String LEASE_NAME = "membership-renewal";
+    private static final LocalDateTime BEFORE_ALL = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Unchanged if the member cancelled or turned renewal off in the meantime
+    private static final String RENEW_SQL = "UPDATE users SET membership_started_at = ?, membership_period_end = ? " +
+            "WHERE id = ? AND membership_status = 'ACTIVE' AND membership_auto_renew = TRUE " +
+            "AND membership_period_end = ?";
+
+    private final UserRepository userRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration lease;
+
+    public MembershipRenewalJob(
+        UserRepository userRepository,
+        SchedulerLeaseService schedulerLeaseService,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.membership-renewal.batch-size:1000}") int batchSize,
+        @Value("${app.membership-renewal.max-batches-per-run:1000}") int maxBatchesPerRun,
+        @Value("${app.membership-renewal.lease:30m}") Duration lease
+    ) {
+        this.userRepository = userRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lease = lease;
+        this.runTimer = Timer.builder("spas.jobs.duration")
+                .description("Run time of scheduled jobs")
+                .tag("job", LEASE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.membership-renewal.cron:0 0 2 * * *}")
+    public void renewOrExpireMemberships() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            return; // Another instance is on it
+        }
+        try {
+            runTimer.record(this::processInBatches);
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    private void processInBatches() {
+        // Fixed "now" for the whole run, so renewed members are not seen again
+        LocalDateTime now = LocalDateTime.now();
+        ChunkResult chunk = new ChunkResult(BEFORE_ALL, 0L);
+        int renewed = 0;
+        int expired = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            ChunkResult previous = chunk;
+            chunk = transactionTemplate.execute(status -> processChunk(now, previous));
+            renewed += chunk.renewed;
+            expired += chunk.expired;
+            if (chunk.size < batchSize) {
+                break;
+            }
+        }
+
+        if (renewed > 0 || expired > 0) {
+            meterRegistry.counter("spas.memberships.renewed").increment(renewed);
+            meterRegistry.counter("spas.memberships.expired").increment(expired);
+            logger.info("Membership periods ending by {}: {} renewed, {} expired", now, renewed, expired);
+        }
+    }
+
+    private ChunkResult processChunk(LocalDateTime now, ChunkResult after) {
+        List<UserRepository.DueMembership> due = userRepository.findDueMemberships(
+                now, after.lastPeriodEnd, after.lastId, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return new ChunkResult(after.lastPeriodEnd, after.lastId);
+        }
+
+        List<Object[]> renewals = new ArrayList<>();
+        List<Long> expiring = new ArrayList<>();
+        for (UserRepository.DueMembership member : due) {
+            if (member.getAutoRenew()) {
+                LocalDateTime start = member.getPeriodEnd();
+                LocalDateTime end = start.plus(MembershipService.BILLING_PERIOD);
+                // Edge Case: After downtime, skip to the period that contains now
+                while (!end.isAfter(now)) {
+                    start = end;
+                    end = start.plus(MembershipService.BILLING_PERIOD);
+                }
+                renewals.add(new Object[] {Timestamp.valueOf(start), Timestamp.valueOf(end),
+                        member.getId(), Timestamp.valueOf(member.getPeriodEnd())});
+            } else {
+                expiring.add(member.getId());
+            }
+        }
+
+        UserRepository.DueMembership last = due.get(due.size() - 1);
+        ChunkResult result = new ChunkResult(last.getPeriodEnd(), last.getId());
+        result.size = due.size();
+        if (!renewals.isEmpty()) {
+            for (int count : jdbcTemplate.batchUpdate(RENEW_SQL, renewals)) {
+                result.renewed += Math.max(count, 0);
+            }
+        }
+        if (!expiring.isEmpty()) {
+            result.expired = userRepository.expireMemberships(expiring, now);
+        }
+        return result;
+    }
+
+    /** Where a chunk ended (the keyset cursor) and what it changed. */
+    private static final class ChunkResult {
+
+        private final LocalDateTime lastPeriodEnd;
+        private final Long lastId;
+        private int size;
+        private int renewed;
+        private int expired;
+
+        ChunkResult(LocalDateTime lastPeriodEnd, Long lastId) {
+            this.lastPeriodEnd = lastPeriodEnd;
+            this.lastId = lastId;
+        }
+    }
+}
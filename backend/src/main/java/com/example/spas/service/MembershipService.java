@@ -10,13 +10,19 @@ import com.example.spas.model.User;
 import com.example.spas.repository.MembershipRepository;
 import com.example.spas.repository.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.Period;
 import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class MembershipService {
 
+    /** Length of a membership billing period (plans are priced per month). */
+    static final Period BILLING_PERIOD = Period.ofMonths(1);
+
     private final MembershipRepository membershipRepository;
     private final UserRepository userRepository;
     private final UserService userService; // For mapping User -> UserView
@@ -50,6 +56,7 @@ public class MembershipService {
     /**
      * Helper to see all memberships
      */
+    @Transactional(readOnly = true)
     public List<MembershipView> getAllMemberships() {
         List<Membership> memberships = membershipRepository.findAll();
         List<MembershipView> membershipViews = new ArrayList<>();
@@ -62,9 +69,11 @@ public class MembershipService {
 
     /**
      * Feature 22: User subscribes to a membership
+     * The first billing period starts now; MembershipRenewalJob renews or
+     * expires it when it ends.
      * Edge Case: Checks if the user is already an active member.
      */
-    public UserView subscribeToMembership(Long userId, Long membershipId) {
+    public UserView subscribeToMembership(Long userId, Long membershipId, Boolean autoRenew) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         Membership membership = membershipRepository.findById(membershipId)
@@ -77,8 +86,12 @@ public class MembershipService {
         }
         // --- END EDGE CASE ---
         
+        LocalDateTime now = LocalDateTime.now();
         user.setMembership(membership);
         user.setMembershipStatus(MembershipStatus.ACTIVE); // Simple: auto-approve
+        user.setMembershipStartedAt(now);
+        user.setMembershipPeriodEnd(now.plus(BILLING_PERIOD));
+        user.setMembershipAutoRenew(autoRenew == null || autoRenew);
 
         User savedUser = userRepository.save(user);
         return userService.mapToUserView(savedUser);
@@ -100,10 +113,33 @@ public class MembershipService {
         
         user.setMembership(null);
         user.setMembershipStatus(MembershipStatus.INACTIVE);
+        user.setMembershipStartedAt(null);
+        user.setMembershipPeriodEnd(null);
 
         User savedUser = userRepository.save(user);
         return userService.mapToUserView(savedUser);
     }
+
+    /**
+     * Feature 22: User turns renewal of their membership on or off.
+     * With renewal off, the membership stays active until the end of the
+     * current period and then expires.
+     * Edge Case: Only an active membership can be changed.
+     */
+    @Transactional
+    public UserView setAutoRenew(Long userId, boolean autoRenew) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        // --- EDGE CASE LOGIC ---
+        if (user.getMembership() == null || user.getMembershipStatus() != MembershipStatus.ACTIVE) {
+            throw new IllegalStateException("You do not have an active membership.");
+        }
+        // --- END EDGE CASE ---
+
+        user.setMembershipAutoRenew(autoRenew);
+        return userService.mapToUserView(userRepository.save(user));
+    }
     
     // --- Helper ---
 
@@ -10,6 +10,7 @@ import com.example.spas.model.Service;
 import com.example.spas.repository.ServiceRepository;
 import com.example.spas.repository.SpaRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +27,7 @@ public class OfferService {
     }
     
     
+    @Transactional(readOnly = true)
     public List<ServiceView> getAllServicesForAdmin(ApprovalStatus status) {
         List<com.example.spas.model.Service> services;
 
@@ -65,6 +67,9 @@ public class OfferService {
         service.setDescription(request.getDescription());
         service.setPrice(request.getPrice());
         service.setDurationInMinutes(request.getDurationInMinutes());
+        if (request.getCapacity() != null) {
+            service.setCapacity(request.getCapacity());
+        }
         service.setSpa(spa);
         service.setApprovalStatus(ApprovalStatus.PENDING);
         service.setServiceStatus(ServiceStatus.UNAVAILABLE);
@@ -115,6 +120,7 @@ public class OfferService {
     /**
      * Helper to get all services for a client's spa
      */
+    @Transactional(readOnly = true)
     public List<ServiceView> getServicesForSpa(Long spaId) {
         List<Service> services = serviceRepository.findAllBySpaId(spaId);
         List<ServiceView> serviceViews = new ArrayList<>();
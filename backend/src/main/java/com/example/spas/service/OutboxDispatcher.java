@@ -0,0 +1,214 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingEvent;
+import com.example.spas.model.OutboxEvent;
+import com.example.spas.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the outbox table in the background and hands each booking event to
+ * every BookingEventHandler, so request latency never depends on them.
+ *
+ * Delivery is at-least-once. Each row is claimed with a conditional UPDATE
+ * (the "attempts" column acts as a version), which also sets a lease: if this
+ * instance dies mid-batch, the rows become due again when the lease runs out.
+ * Failed events are retried with exponential backoff and given up on after
+ * app.outbox.max-attempts.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final List<BookingEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final Timer deliveryLag;
+
+    public OutboxDispatcher(
+        OutboxEventRepository outboxEventRepository,
+        OutboxService outboxService,
+        List<BookingEventHandler> handlers,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.outbox.batch-size:100}") int batchSize,
+        @Value("${app.outbox.max-batches-per-run:10}") int maxBatchesPerRun,
+        @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+        @Value("${app.outbox.lease:1m}") Duration lease,
+        @Value("${app.outbox.initial-backoff:1s}") Duration initialBackoff,
+        @Value("${app.outbox.max-backoff:10m}") Duration maxBackoff,
+        @Value("${app.outbox.retention:7d}") Duration retention
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxService = outboxService;
+        this.handlers = handlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+
+        Gauge.builder("spas.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events not yet delivered")
+                .register(meterRegistry);
+        Gauge.builder("spas.outbox.oldest.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("spas.outbox.delivery.lag")
+                .description("Time from the booking change to its event being delivered")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (dispatchBatch() < batchSize) {
+                break;
+            }
+        }
+        refreshLagGauges();
+    }
+
+    /**
+     * Deletes delivered events after the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}", initialDelay = 60000)
+    public void purgeProcessed() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteAllProcessedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} delivered outbox events older than {}", deleted, retention);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> claimDue(LocalDateTime.now()));
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> delivered = new ArrayList<>();
+        Map<OutboxEvent, RuntimeException> failed = new LinkedHashMap<>();
+        for (OutboxEvent row : claimed) {
+            try {
+                BookingEvent event = outboxService.readPayload(row);
+                for (BookingEventHandler handler : handlers) {
+                    handler.handle(event);
+                }
+                delivered.add(row);
+            } catch (RuntimeException e) {
+                failed.put(row, e);
+            }
+        }
+
+        // --- EDGE CASE LOGIC ---
+        // A failed flush means buffered work may be lost: retry the whole batch.
+        try {
+            for (BookingEventHandler handler : handlers) {
+                handler.flush();
+            }
+        } catch (RuntimeException e) {
+            for (OutboxEvent row : delivered) {
+                failed.put(row, e);
+            }
+            delivered.clear();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markProcessed(delivered.stream().map(OutboxEvent::getId).toList(), now);
+            }
+            failed.forEach((row, error) -> markFailed(row, error, now));
+        });
+
+        for (OutboxEvent row : delivered) {
+            deliveryLag.record(Duration.between(row.getCreatedAt(), now));
+        }
+        meterRegistry.counter("spas.outbox.dispatched", "result", "delivered").increment(delivered.size());
+        return claimed.size();
+    }
+
+    private List<OutboxEvent> claimDue(LocalDateTime now) {
+        List<OutboxEvent> due = outboxEventRepository.findDue(now, PageRequest.of(0, batchSize));
+        List<OutboxEvent> claimed = new ArrayList<>(due.size());
+        LocalDateTime leaseUntil = now.plus(lease);
+        for (OutboxEvent row : due) {
+            // Another instance may have claimed it after our SELECT
+            if (outboxEventRepository.claim(row.getId(), row.getAttempts(), leaseUntil) == 1) {
+                row.setAttempts(row.getAttempts() + 1);
+                claimed.add(row);
+            }
+        }
+        return claimed;
+    }
+
+    private void markFailed(OutboxEvent row, RuntimeException error, LocalDateTime now) {
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        if (message.length() > 1000) {
+            message = message.substring(0, 1000);
+        }
+
+        if (row.getAttempts() >= maxAttempts) {
+            logger.error("Giving up on outbox event {} ({}) after {} attempts: {}",
+                    row.getId(), row.getEventType(), row.getAttempts(), message);
+            outboxEventRepository.markFailed(row.getId(), now, now, message);
+            meterRegistry.counter("spas.outbox.dispatched", "result", "dead").increment();
+            return;
+        }
+
+        logger.warn("Outbox event {} ({}) failed on attempt {}, will retry: {}",
+                row.getId(), row.getEventType(), row.getAttempts(), message);
+        outboxEventRepository.markFailed(row.getId(), now.plus(backoff(row.getAttempts())), null, message);
+        meterRegistry.counter("spas.outbox.dispatched", "result", "retry").increment();
+    }
+
+    /**
+     * initial-backoff * 2^(attempt - 1), capped at max-backoff.
+     */
+    private Duration backoff(int attempt) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void refreshLagGauges() {
+        pendingEvents.set(outboxEventRepository.countByProcessedAtIsNull());
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        oldestPendingAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+    }
+}
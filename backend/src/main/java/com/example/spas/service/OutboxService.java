@@ -0,0 +1,69 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingEvent;
+import com.example.spas.model.Booking;
+import com.example.spas.model.OutboxEvent;
+import com.example.spas.model.enums.BookingEventType;
+import com.example.spas.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes booking lifecycle events to the outbox table. The row is part of the
+ * caller's transaction, so an event exists if and only if the booking change
+ * committed. Delivery happens later in OutboxDispatcher.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records an event for the booking's current state.
+     * Edge Case: MANDATORY, so calling it outside a transaction fails fast
+     * instead of silently writing an event for a change that may roll back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(BookingEventType type, Booking booking) {
+        BookingEvent event = new BookingEvent(
+                type,
+                LocalDateTime.now(),
+                booking.getId(),
+                booking.getCustomer().getId(),
+                booking.getSpa().getId(),
+                booking.getService().getId(),
+                booking.getBookingTime(),
+                booking.getStatus(),
+                booking.getFinalPrice()
+        );
+        outboxEventRepository.save(new OutboxEvent(type, booking.getId(), toJson(event)));
+    }
+
+    public BookingEvent readPayload(OutboxEvent row) {
+        try {
+            BookingEvent event = objectMapper.readValue(row.getPayload(), BookingEvent.class);
+            event.setEventId(row.getId());
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload for event " + row.getId(), e);
+        }
+    }
+
+    private String toJson(BookingEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking event", e);
+        }
+    }
+}
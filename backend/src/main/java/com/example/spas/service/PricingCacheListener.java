@@ -0,0 +1,66 @@
+package com.example.spas.service;
+
+import com.example.spas.model.Membership;
+import com.example.spas.model.Service;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate listener for Service and Membership rows: any update or delete
+ * of a service's price or a plan's discount drops the cached prices,
+ * whichever code path made it. Registers itself with Hibernate's event
+ * registry at startup, so the entities stay unaware of the pricing cache.
+ */
+@Component
+public class PricingCacheListener implements PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PricingService pricingService;
+
+    public PricingCacheListener(EntityManagerFactory entityManagerFactory, PricingService pricingService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.pricingService = pricingService;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity());
+    }
+
+    // PricingService evicts again after commit by itself
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void changed(Object entity) {
+        if (entity instanceof Service service) {
+            pricingService.evictService(service.getId());
+        } else if (entity instanceof Membership membership) {
+            pricingService.evictPlan(membership.getId());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.PriceQuote;
+import com.example.spas.exception.ResourceNotFoundException;
+import com.example.spas.model.Membership;
+import com.example.spas.model.User;
+import com.example.spas.model.enums.MembershipStatus;
+import com.example.spas.repository.ServiceRepository;
+import com.example.spas.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongPredicate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Feature 22 (member prices): The price a customer pays for a service,
+ * after their membership discount, for bookings and for price quotes.
+ *
+ * Quoted prices are kept in cents per (service, membership plan) in a
+ * long-to-long map, so quoting dozens of services is a few array reads
+ * each once warm. Reads are optimistic under a StampedLock and only take
+ * the read lock if a write got in between. A service's or plan's prices are
+ * dropped when its row changes (see PricingCacheListener).
+ *
+ * Every drop bumps the service's version (or the plans' version), and a
+ * price loaded under an older version is never stored, so a reader that
+ * loaded the old price cannot put it back after the drop. Prices are only
+ * ever loaded from the primary, never from a lagging replica.
+ */
+@Service
+public class PricingService {
+
+    static final int MAX_QUOTES = 100;
+
+    // Cache key: service id in the high bits, plan id (0 = no plan) in the low ones
+    private static final int PLAN_BITS = 16;
+    private static final long MAX_PLAN_ID = (1L << PLAN_BITS) - 1;
+    private static final long MAX_SERVICE_ID = (1L << (63 - PLAN_BITS)) - 1;
+    private static final long MISSING = -1;
+    private static final long BASIS_POINTS = 10_000;
+
+    private final ServiceRepository serviceRepository;
+    private final UserRepository userRepository;
+    private final LongLongHashMap cents = new LongLongHashMap();
+    private final StampedLock lock = new StampedLock();
+    // Bumped under the write lock by every drop; plans are rarely changed,
+    // so one version covers all of them
+    private final ConcurrentMap<Long, Long> serviceVersions = new ConcurrentHashMap<>();
+    private final AtomicLong planVersion = new AtomicLong();
+
+    public PricingService(ServiceRepository serviceRepository, UserRepository userRepository) {
+        this.serviceRepository = serviceRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * The price the customer pays for the service today, from the service
+     * the booking transaction loaded (never from the quote cache).
+     */
+    public Double finalPrice(User customer, com.example.spas.model.Service service) {
+        return toAmount(discounted(toCents(service.getPrice()), activePlan(customer)));
+    }
+
+    /**
+     * An amount less a percentage, rounded the same way as member prices.
+     */
+    public Double applyDiscount(Double amount, Double discountPercentage) {
+        return toAmount(discounted(toCents(amount), discountPercentage));
+    }
+
+    /**
+     * Feature 22 (member prices): Prices of many services for one customer,
+     * in the order asked. Uncached services are loaded with one query.
+     * Not read-only: what it loads is cached, so it must come from the
+     * primary; once warm, quotes barely touch the database.
+     * Edge Case: Unknown service ids are a 404; more than 100 is refused.
+     */
+    @Transactional
+    @Timed("spas.service")
+    public List<PriceQuote> quote(List<Long> serviceIds, Long customerId) {
+        // --- EDGE CASE LOGIC (Validation) ---
+        if (serviceIds.size() > MAX_QUOTES) {
+            throw new IllegalArgumentException("At most " + MAX_QUOTES + " services can be quoted at once.");
+        }
+        // --- END EDGE CASE ---
+
+        // Read before anything is loaded; see store
+        long plansVersion = planVersion.get();
+        Map<Long, Long> versions = new HashMap<>();
+        for (Long serviceId : serviceIds) {
+            versions.put(serviceId, serviceVersions.getOrDefault(serviceId, 0L));
+        }
+
+        User customer = userRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + customerId));
+        Membership plan = activePlan(customer);
+
+        List<PriceQuote> quotes = new ArrayList<>(serviceIds.size());
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long serviceId : serviceIds) {
+            long original = cached(key(serviceId, null));
+            long price = cached(key(serviceId, plan));
+            if (original == MISSING || price == MISSING) {
+                missing.add(serviceId);
+                quotes.add(null); // Filled in below
+            } else {
+                quotes.add(new PriceQuote(serviceId, toAmount(original), toAmount(price)));
+            }
+        }
+        if (missing.isEmpty()) {
+            return quotes;
+        }
+
+        Map<Long, PriceQuote> loaded = new HashMap<>();
+        for (ServiceRepository.ServicePrice service : serviceRepository.findPricesByIdIn(missing)) {
+            long original = toCents(service.getPrice());
+            long price = discounted(original, plan);
+            long version = versions.get(service.getId());
+            store(key(service.getId(), null), original, version, plansVersion);
+            store(key(service.getId(), plan), price, version, plansVersion);
+            loaded.put(service.getId(), new PriceQuote(service.getId(), toAmount(original), toAmount(price)));
+        }
+        for (int i = 0; i < quotes.size(); i++) {
+            if (quotes.get(i) == null) {
+                Long serviceId = serviceIds.get(i);
+                PriceQuote quote = loaded.get(serviceId);
+                if (quote == null) {
+                    throw new ResourceNotFoundException("Service not found with id: " + serviceId);
+                }
+                quotes.set(i, quote);
+            }
+        }
+        return quotes;
+    }
+
+    /**
+     * Drops a service's prices, now and again after the commit, in case a
+     * concurrent reader cached the old price in the meantime.
+     */
+    public void evictService(Long serviceId) {
+        evictAfterCommit(() -> evict(() -> serviceVersions.merge(serviceId, 1L, Long::sum),
+                key -> (key >>> PLAN_BITS) == serviceId));
+    }
+
+    /**
+     * Drops a plan's prices; see evictService.
+     */
+    public void evictPlan(Long planId) {
+        evictAfterCommit(() -> evict(planVersion::incrementAndGet, key -> (key & MAX_PLAN_ID) == planId));
+    }
+
+    // --- Helper Methods ---
+
+    private long cached(long key) {
+        if (key == MISSING) {
+            return MISSING;
+        }
+        long stamp = lock.tryOptimisticRead();
+        long price = cents.get(key, MISSING);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                price = cents.get(key, MISSING);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return price;
+    }
+
+    /**
+     * Caches a price loaded under the given versions, unless the service's
+     * or the plans' prices were dropped since: then it may be the old one.
+     */
+    private void store(long key, long price, long serviceVersion, long plansVersion) {
+        if (key == MISSING) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (serviceVersions.getOrDefault(key >>> PLAN_BITS, 0L) == serviceVersion
+                    && planVersion.get() == plansVersion) {
+                cents.put(key, price);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void evict(Runnable bumpVersion, LongPredicate matches) {
+        long stamp = lock.writeLock();
+        try {
+            bumpVersion.run();
+            cents.removeIf(matches);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static void evictAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * The cache key, or MISSING for ids too large to pack (never cached).
+     */
+    private static long key(Long serviceId, Membership plan) {
+        long planId = plan == null ? 0 : plan.getId();
+        if (serviceId == null || serviceId <= 0 || serviceId > MAX_SERVICE_ID || planId > MAX_PLAN_ID) {
+            return MISSING;
+        }
+        return (serviceId << PLAN_BITS) | planId;
+    }
+
+    /**
+     * Edge Case: A plan whose billing period has ended gives no discount,
+     * even before the renewal job has renewed or expired it.
+     */
+    private static Membership activePlan(User customer) {
+        if (customer.getMembership() == null || customer.getMembershipStatus() != MembershipStatus.ACTIVE) {
+            return null;
+        }
+        LocalDateTime periodEnd = customer.getMembershipPeriodEnd();
+        return periodEnd == null || !periodEnd.isBefore(LocalDateTime.now()) ? customer.getMembership() : null;
+    }
+
+    /**
+     * Applies the plan's discount, rounded half up to the cent.
+     */
+    private static long discounted(long originalCents, Membership plan) {
+        return plan == null ? originalCents : discounted(originalCents, plan.getDiscountPercentage());
+    }
+
+    private static long discounted(long originalCents, Double discountPercentage) {
+        if (discountPercentage == null) {
+            return originalCents;
+        }
+        long discount = Math.max(0, Math.min(BASIS_POINTS, Math.round(discountPercentage * 100)));
+        return (originalCents * (BASIS_POINTS - discount) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+
+    private static long toCents(Double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static Double toAmount(long cents) {
+        return cents / 100.0;
+    }
+}
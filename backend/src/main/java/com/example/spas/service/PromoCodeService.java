@@ -0,0 +1,354 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.PromoCodeCreateRequest;
+import com.example.spas.dto.PromoCodeView;
+import com.example.spas.model.Booking;
+import com.example.spas.model.PromoCode;
+import com.example.spas.model.PromoRedemption;
+import com.example.spas.model.User;
+import com.example.spas.repository.PromoCodeRepository;
+import com.example.spas.repository.PromoRedemptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Feature 24 (promo codes): Limited-use discount codes applied at booking.
+ *
+ * A redemption needs a permit. Each instance claims permits from the
+ * code's row in blocks (a conditional UPDATE in its own short transaction)
+ * and hands them out from a striped in-memory pool, so a campaign's
+ * thousands of concurrent redemptions do not queue on one row lock. When
+ * fewer than a block are left, permits are claimed one at a time with the
+ * same conditional UPDATE. The row never grants more than max_redemptions.
+ *
+ * A permit taken by a booking that rolls back goes back to the pool.
+ * Unused permits are returned to the database periodically and on
+ * shutdown.
+ *
+ * Each instance records the permits it holds per code (claimed, not yet
+ * redeemed or returned) in a lease row, written with every claim and
+ * return and renewed by reconcile. Reconcile recomputes reserved as the
+ * redemptions plus the permits of unexpired leases, so the permits of an
+ * instance that died are free again once its lease runs out. A lease may
+ * count a just-redeemed permit twice until its next renewal, never zero
+ * times. An instance whose own lease ran out drops its pool, since others
+ * may have given those permits out again.
+ */
+@Service
+public class PromoCodeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromoCodeService.class);
+
+    private final PromoCodeRepository promoCodeRepository;
+    private final PromoRedemptionRepository promoRedemptionRepository;
+    private final TransactionTemplate newTransaction;
+    private final MeterRegistry meterRegistry;
+    private final int blockSize;
+    private final Duration permitLease;
+    private final String instanceId;
+
+    // Permits this instance has claimed, per code id
+    private final Map<Long, CodePermits> permits = new ConcurrentHashMap<>();
+
+    public PromoCodeService(
+        PromoCodeRepository promoCodeRepository,
+        PromoRedemptionRepository promoRedemptionRepository,
+        SchedulerLeaseService schedulerLeaseService,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.promo.permit-block-size:20}") int blockSize,
+        @Value("${app.promo.permit-lease:5m}") Duration permitLease
+    ) {
+        this.promoCodeRepository = promoCodeRepository;
+        this.promoRedemptionRepository = promoRedemptionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.blockSize = Math.max(1, blockSize);
+        this.permitLease = permitLease;
+        this.instanceId = schedulerLeaseService.getOwner();
+    }
+
+    /**
+     * Admin creates a promo code.
+     * Edge Case: Codes are unique, ignoring case.
+     */
+    @Transactional
+    public PromoCodeView createPromoCode(PromoCodeCreateRequest request) {
+        String code = normalize(request.getCode());
+
+        // --- EDGE CASE LOGIC (Validation) ---
+        if (promoCodeRepository.existsByCode(code)) {
+            throw new IllegalArgumentException("Promo code already exists");
+        }
+        if (request.getValidFrom() != null && request.getValidUntil() != null
+                && !request.getValidUntil().isAfter(request.getValidFrom())) {
+            throw new IllegalArgumentException("The end of the validity period must be after its start.");
+        }
+        // --- END EDGE CASE ---
+
+        PromoCode promoCode = promoCodeRepository.save(new PromoCode(
+                code,
+                request.getDescription(),
+                request.getDiscountPercentage(),
+                request.getMaxRedemptions(),
+                request.getValidFrom(),
+                request.getValidUntil()
+        ));
+        return mapToPromoCodeView(promoCode);
+    }
+
+    /**
+     * Admin views all promo codes. Redemption counts are as of the last
+     * reconciliation.
+     */
+    @Transactional(readOnly = true)
+    public List<PromoCodeView> getAllPromoCodes() {
+        List<PromoCodeView> views = new ArrayList<>();
+        for (PromoCode promoCode : promoCodeRepository.findAll()) {
+            views.add(mapToPromoCodeView(promoCode));
+        }
+        return views;
+    }
+
+    /**
+     * Called by createBooking inside its transaction: checks the code and
+     * takes one redemption for the customer. The redemption is recorded by
+     * recordRedemption once the booking is saved.
+     * Edge Case: Unknown, inactive, expired or used-up codes are refused,
+     * as is a second use by the same customer.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PromoCode claim(String code, Long customerId) {
+        PromoCode promoCode = promoCodeRepository.findByCode(normalize(code))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown promo code: " + code));
+
+        // --- EDGE CASE LOGIC (Business Rules) ---
+        LocalDateTime now = LocalDateTime.now();
+        if (!promoCode.isActive()
+                || (promoCode.getValidFrom() != null && now.isBefore(promoCode.getValidFrom()))
+                || (promoCode.getValidUntil() != null && !now.isBefore(promoCode.getValidUntil()))) {
+            throw new IllegalStateException("This promo code is not valid at the moment.");
+        }
+        if (promoRedemptionRepository.existsByPromoCodeIdAndCustomerId(promoCode.getId(), customerId)) {
+            throw new IllegalStateException("You have already used this promo code.");
+        }
+        if (!takePermit(promoCode.getId())) {
+            throw new IllegalStateException("This promo code has been fully redeemed.");
+        }
+        // --- END EDGE CASE ---
+
+        // If the booking does not go through, the permit can be used again
+        // (unless the lease ran out meanwhile); if it does, the permit is now
+        // a redemption row
+        CodePermits codePermits = permits.get(promoCode.getId());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED || codePermits.leaseExpired()) {
+                    codePermits.held.decrementAndGet();
+                } else {
+                    codePermits.pool.add(1);
+                }
+            }
+        });
+        return promoCode;
+    }
+
+    /**
+     * Records a claimed code as used by the booking, in the booking's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRedemption(PromoCode promoCode, User customer, Booking booking) {
+        promoRedemptionRepository.save(new PromoRedemption(promoCode, customer, booking));
+        meterRegistry.counter("spas.promo.redemptions").increment();
+    }
+
+    /**
+     * Returns the permits this instance did not use, so other instances can
+     * claim them, renews this instance's leases, and recomputes the reserved
+     * and redeemed counts from the redemption rows and the live leases.
+     */
+    @Scheduled(fixedDelayString = "${app.promo.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        returnUnusedPermits();
+        renewLeases();
+        int codes = newTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            promoCodeRepository.lockAll();
+            promoCodeRepository.refreshReservedCounts(now);
+            promoCodeRepository.deleteExpiredLeases(now);
+            return promoCodeRepository.refreshRedeemedCounts();
+        });
+        logger.debug("Reconciled redemption counts of {} promo codes", codes);
+    }
+
+    @PreDestroy
+    public void returnUnusedPermits() {
+        for (Map.Entry<Long, CodePermits> entry : permits.entrySet()) {
+            CodePermits code = entry.getValue();
+            synchronized (code) {
+                if (dropIfLeaseExpired(code)) {
+                    continue;
+                }
+                long unused = code.pool.drain();
+                if (unused == 0) {
+                    continue;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                try {
+                    Integer returned = newTransaction.execute(status -> {
+                        promoCodeRepository.saveLease(instanceId, entry.getKey(), code.held.get() - unused,
+                                now.plus(permitLease));
+                        return promoCodeRepository.unreserve(entry.getKey(), (int) unused);
+                    });
+                    code.held.addAndGet(-unused);
+                    code.renewed(now, permitLease);
+                    if (returned == null || returned == 0) {
+                        logger.warn("Could not return {} permits of promo code {}", unused, entry.getKey());
+                    }
+                } catch (RuntimeException e) {
+                    // Keep them for the next run
+                    code.pool.add(unused);
+                    logger.warn("Returning permits of promo code {} failed; will retry", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Takes a permit from this instance's pool, claiming more from the
+     * database when it is empty. Only one thread per code claims at a time.
+     */
+    private boolean takePermit(Long promoCodeId) {
+        CodePermits code = permits.computeIfAbsent(promoCodeId, id -> new CodePermits());
+        if (!code.leaseExpired() && code.pool.tryTake()) {
+            return true;
+        }
+        synchronized (code) {
+            if (!dropIfLeaseExpired(code) && code.pool.tryTake()) {
+                return true;
+            }
+            // Own short transaction: the row lock is held only for the UPDATE,
+            // and the claim stands even if this booking rolls back. The lease
+            // is written in the same transaction, so a claimed permit is
+            // never left out of reconcile's count.
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = newTransaction.execute(status -> {
+                int taken = 0;
+                if (blockSize > 1 && promoCodeRepository.tryReserve(promoCodeId, blockSize) == 1) {
+                    taken = blockSize;
+                } else if (promoCodeRepository.tryReserve(promoCodeId, 1) == 1) {
+                    taken = 1;
+                }
+                if (taken > 0) {
+                    promoCodeRepository.saveLease(instanceId, promoCodeId, code.held.get() + taken, now.plus(permitLease));
+                }
+                return taken;
+            });
+            if (claimed == 0) {
+                return false;
+            }
+            meterRegistry.counter("spas.promo.permits", "claim", claimed == 1 ? "single" : "block").increment();
+            code.held.addAndGet(claimed);
+            code.renewed(now, permitLease);
+            code.pool.add(claimed - 1);
+            return true;
+        }
+    }
+
+    /**
+     * Writes each code's held permits to this instance's lease, pushing its
+     * expiry out. Runs under the code's lock, so no claim lands in between.
+     */
+    private void renewLeases() {
+        for (Map.Entry<Long, CodePermits> entry : permits.entrySet()) {
+            CodePermits code = entry.getValue();
+            synchronized (code) {
+                dropIfLeaseExpired(code);
+                LocalDateTime now = LocalDateTime.now();
+                try {
+                    newTransaction.executeWithoutResult(status -> promoCodeRepository.saveLease(
+                            instanceId, entry.getKey(), code.held.get(), now.plus(permitLease)));
+                    code.renewed(now, permitLease);
+                } catch (RuntimeException e) {
+                    logger.warn("Renewing the permit lease of promo code {} failed; will retry", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Edge Case: Once this instance's lease may have run out, reconcile on
+     * another instance may have freed its pooled permits: they are dropped,
+     * not used or returned. Call holding the code's lock.
+     */
+    private static boolean dropIfLeaseExpired(CodePermits code) {
+        if (!code.leaseExpired()) {
+            return false;
+        }
+        code.held.addAndGet(-code.pool.drain());
+        return true;
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * A code's permits on this instance: the pool not handed out yet, and
+     * held, the permits claimed and not yet redeemed or returned (the pool
+     * plus those taken by bookings still in progress).
+     */
+    private static final class CodePermits {
+        final StripedPermits pool = new StripedPermits();
+        final AtomicLong held = new AtomicLong();
+        // Half the lease, leaving the rest for clock skew between instances
+        volatile long leaseValidUntil;
+
+        boolean leaseExpired() {
+            return System.currentTimeMillis() >= leaseValidUntil;
+        }
+
+        void renewed(LocalDateTime at, Duration lease) {
+            leaseValidUntil = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + lease.toMillis() / 2;
+        }
+    }
+
+    private PromoCodeView mapToPromoCodeView(PromoCode promoCode) {
+        return new PromoCodeView(
+                promoCode.getId(),
+                promoCode.getCode(),
+                promoCode.getDescription(),
+                promoCode.getDiscountPercentage(),
+                promoCode.getMaxRedemptions(),
+                promoCode.getRedeemed(),
+                promoCode.getValidFrom(),
+                promoCode.getValidUntil(),
+                promoCode.isActive()
+        );
+    }
+}
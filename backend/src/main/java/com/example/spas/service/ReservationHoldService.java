@@ -0,0 +1,323 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.HoldRequest;
+import com.example.spas.dto.HoldView;
+import com.example.spas.exception.ResourceNotFoundException;
+import com.example.spas.model.ReservationHold;
+import com.example.spas.model.User;
+import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.model.enums.ServiceStatus;
+import com.example.spas.repository.ReservationHoldRepository;
+import com.example.spas.repository.ServiceRepository;
+import com.example.spas.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Feature 4 (checkout holds): Lets a user hold a (service, slot time) for a
+ * few minutes between checking availability and booking. Each active hold
+ * takes one unit of the slot's capacity (see SlotCapacityService), which
+ * only the holder can then book.
+ *
+ * The reservation_holds table is the source of truth: every check filters
+ * on expires_at, so a hold is over at its expiry time no matter what. An
+ * in-memory timing wheel deletes the rows on time without polling the
+ * table; after a crash, startup reloads the wheel and a slow sweep catches
+ * rows another instance left behind.
+ *
+ * A released or expired hold frees a unit, so its slot is offered to the
+ * slot's waitlist (WaitlistService.offerNext), if it has one.
+ */
+@Service
+public class ReservationHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationHoldService.class);
+
+    private final ReservationHoldRepository reservationHoldRepository;
+    private final ServiceRepository serviceRepository;
+    private final UserRepository userRepository;
+    private final SlotCapacityService slotCapacityService;
+    private final SpaScheduleService spaScheduleService;
+    // Looked up lazily: WaitlistService itself depends on this service
+    private final ObjectProvider<WaitlistService> waitlistService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final int maxPerCustomer;
+
+    // 1s ticks, 64 buckets per level, 3 levels: exact up to ~72h out
+    private final TimingWheel<Long> expiryWheel = new TimingWheel<>(1000, 64, 3, System.currentTimeMillis());
+
+    public ReservationHoldService(
+        ReservationHoldRepository reservationHoldRepository,
+        ServiceRepository serviceRepository,
+        UserRepository userRepository,
+        SlotCapacityService slotCapacityService,
+        SpaScheduleService spaScheduleService,
+        ObjectProvider<WaitlistService> waitlistService,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.holds.ttl:5m}") Duration ttl,
+        @Value("${app.holds.max-per-customer:3}") int maxPerCustomer
+    ) {
+        this.reservationHoldRepository = reservationHoldRepository;
+        this.serviceRepository = serviceRepository;
+        this.userRepository = userRepository;
+        this.slotCapacityService = slotCapacityService;
+        this.spaScheduleService = spaScheduleService;
+        this.waitlistService = waitlistService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.maxPerCustomer = maxPerCustomer;
+
+        Gauge.builder("spas.holds.scheduled", this, ReservationHoldService::scheduledExpiries)
+                .description("Hold expiries waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Holds a slot for app.holds.ttl.
+     * Edge Case: Fails if the slot has no free capacity, the user already
+     * holds it, or the user already has max-per-customer holds.
+     */
+    public HoldView createHold(HoldRequest request, Long customerId) {
+        ReservationHold hold;
+        try {
+            hold = transactionTemplate.execute(status -> insertHold(request, customerId));
+        } catch (DataIntegrityViolationException e) {
+            // The same user's concurrent request held the slot first
+            throw new IllegalStateException("You already hold this slot.");
+        }
+
+        synchronized (expiryWheel) {
+            expiryWheel.add(hold.getId(), toEpochMillis(hold.getExpiresAt()));
+        }
+        meterRegistry.counter("spas.holds", "event", "created").increment();
+        return mapToHoldView(hold);
+    }
+
+    /**
+     * Gives a hold back before it expires, and offers the slot to its waitlist.
+     */
+    @Transactional
+    public void releaseHold(Long holdId, Long customerId) {
+        ReservationHold hold = reservationHoldRepository.findById(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found with id: " + holdId));
+
+        // Ownership check
+        if (!hold.getCustomer().getId().equals(customerId)) {
+            throw new IllegalStateException("You do not have permission to release this hold.");
+        }
+        reservationHoldRepository.delete(hold);
+        meterRegistry.counter("spas.holds", "event", "released").increment();
+        waitlistService.getObject().offerNext(hold.getService().getId(), hold.getSlotTime());
+    }
+
+    /**
+     * Called by createBooking inside its transaction: the customer's own
+     * hold on the slot, if any, is used up by the booking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void consumeOwnHold(Long serviceId, LocalDateTime slotTime, Long customerId) {
+        reservationHoldRepository.findActiveForSlotAndCustomer(serviceId, slotTime, LocalDateTime.now(), customerId)
+                .ifPresent(hold -> {
+                    reservationHoldRepository.delete(hold);
+                    meterRegistry.counter("spas.holds", "event", "consumed").increment();
+                });
+    }
+
+    /**
+     * Same as consumeOwnHold, for all slots of a recurring series at once.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void consumeOwnHolds(Long serviceId, Collection<LocalDateTime> slotTimes, Long customerId) {
+        int consumed = reservationHoldRepository.deleteForSlotsAndCustomer(serviceId, slotTimes, customerId);
+        if (consumed > 0) {
+            meterRegistry.counter("spas.holds", "event", "consumed").increment(consumed);
+        }
+    }
+
+    /**
+     * Offers a freed slot to a waitlisted customer by holding it for them,
+     * inside the caller's transaction. No per-customer limit applies.
+     * Edge Case: Returns empty if the slot was booked or held meanwhile.
+     * Edge Case: A hold the customer already has on the slot is reused.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<ReservationHold> offerHold(com.example.spas.model.Service service, User customer,
+                                               LocalDateTime slotTime, Duration holdTime) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<ReservationHold> own = reservationHoldRepository
+                .findActiveForSlotAndCustomer(service.getId(), slotTime, now, customer.getId());
+        if (own.isPresent()) {
+            return own;
+        }
+        slotCapacityService.lockSlot(service, slotTime);
+        if (slotCapacityService.freeCapacity(service, slotTime) <= 0) {
+            return Optional.empty();
+        }
+        ReservationHold hold = saveHold(service, customer, slotTime, now, holdTime);
+        // A rolled-back hold only leaves a no-op timer behind
+        synchronized (expiryWheel) {
+            expiryWheel.add(hold.getId(), toEpochMillis(hold.getExpiresAt()));
+        }
+        meterRegistry.counter("spas.holds", "event", "offered").increment();
+        return Optional.of(hold);
+    }
+
+    /**
+     * Advances the timing wheel once a second, deletes the holds that came
+     * due and offers their slots to the waitlists.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void expireDueHolds() {
+        List<Long> due;
+        synchronized (expiryWheel) {
+            due = expiryWheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ReservationHoldRepository.HeldSlot> freed = transactionTemplate.execute(status -> {
+            List<ReservationHoldRepository.HeldSlot> slots = reservationHoldRepository.findExpiredSlots(due, now);
+            countExpired(reservationHoldRepository.deleteExpired(due, now));
+            return slots;
+        });
+        offerFreedSlots(freed);
+    }
+
+    /**
+     * Backstop for rows the wheel does not know about (e.g. left by an
+     * instance that died). Expired rows are already ignored by every query.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.holds.sweep-interval-ms:600000}",
+        initialDelayString = "${app.holds.sweep-interval-ms:600000}"
+    )
+    public void sweepExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReservationHoldRepository.HeldSlot> freed = transactionTemplate.execute(status -> {
+            List<ReservationHoldRepository.HeldSlot> slots = reservationHoldRepository.findAllExpiredSlots(now);
+            countExpired(reservationHoldRepository.deleteAllExpired(now));
+            return slots;
+        });
+        offerFreedSlots(freed);
+    }
+
+    /**
+     * Rebuilds the wheel from the database after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveHolds() {
+        List<ReservationHold> active = reservationHoldRepository.findAllByExpiresAtAfter(LocalDateTime.now());
+        synchronized (expiryWheel) {
+            for (ReservationHold hold : active) {
+                expiryWheel.add(hold.getId(), toEpochMillis(hold.getExpiresAt()));
+            }
+        }
+        if (!active.isEmpty()) {
+            logger.info("Scheduled expiry for {} active reservation holds", active.size());
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private ReservationHold insertHold(HoldRequest request, Long customerId) {
+        LocalDateTime now = LocalDateTime.now();
+        User customer = userRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + customerId));
+        com.example.spas.model.Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + request.getServiceId()));
+
+        // --- EDGE CASE LOGIC (Business Rules) ---
+        if (service.getApprovalStatus() != ApprovalStatus.APPROVED
+                || service.getServiceStatus() != ServiceStatus.AVAILABLE) {
+            throw new IllegalStateException("This service is not available for booking.");
+        }
+        spaScheduleService.requireOpen(service, request.getSlotTime());
+        if (reservationHoldRepository.countByCustomerIdAndExpiresAtAfter(customerId, now) >= maxPerCustomer) {
+            throw new IllegalStateException("You already hold the maximum of " + maxPerCustomer + " slots.");
+        }
+        if (reservationHoldRepository.findActiveForSlotAndCustomer(
+                service.getId(), request.getSlotTime(), now, customerId).isPresent()) {
+            throw new IllegalStateException("You already hold this slot.");
+        }
+        // Concurrent holds and bookings of the slot wait here, so the
+        // capacity check below counts all of them.
+        slotCapacityService.lockSlot(service, request.getSlotTime());
+        if (slotCapacityService.freeCapacity(service, request.getSlotTime()) <= 0) {
+            throw new IllegalStateException("This time slot is fully booked.");
+        }
+        // --- END EDGE CASE ---
+
+        return saveHold(service, customer, request.getSlotTime(), now, ttl);
+    }
+
+    private ReservationHold saveHold(com.example.spas.model.Service service, User customer,
+                                     LocalDateTime slotTime, LocalDateTime now, Duration holdTime) {
+        // An expired hold on this slot still occupies the unique key
+        reservationHoldRepository.deleteExpiredForSlot(service.getId(), slotTime, now);
+        return reservationHoldRepository.saveAndFlush(
+                new ReservationHold(slotTime, now.plus(holdTime), service, customer));
+    }
+
+    private void countExpired(int deleted) {
+        if (deleted > 0) {
+            meterRegistry.counter("spas.holds", "event", "expired").increment(deleted);
+        }
+    }
+
+    /**
+     * Offers each slot to its waitlist in its own transaction, so one
+     * failing slot does not keep the others from being offered.
+     */
+    private void offerFreedSlots(List<ReservationHoldRepository.HeldSlot> slots) {
+        for (ReservationHoldRepository.HeldSlot slot : slots) {
+            try {
+                waitlistService.getObject().offerNext(slot.getServiceId(), slot.getSlotTime());
+            } catch (RuntimeException e) {
+                logger.warn("Could not offer service {} at {} to its waitlist", slot.getServiceId(), slot.getSlotTime(), e);
+            }
+        }
+    }
+
+    private int scheduledExpiries() {
+        synchronized (expiryWheel) {
+            return expiryWheel.size();
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private HoldView mapToHoldView(ReservationHold hold) {
+        return new HoldView(
+                hold.getId(),
+                hold.getService().getId(),
+                hold.getSlotTime(),
+                hold.getExpiresAt()
+        );
+    }
+}
@@ -5,6 +5,7 @@ import com.example.spas.dto.ReviewView;
 import com.example.spas.exception.ResourceNotFoundException;
 import com.example.spas.model.*; // Import BookingStatus
 import com.example.spas.model.enums.BookingStatus;
+import com.example.spas.repository.ArchivedBookingRepository;
 import com.example.spas.repository.BookingRepository;
 import com.example.spas.repository.ReviewRepository;
 import com.example.spas.repository.SpaRepository;
@@ -18,13 +19,16 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final SpaRepository spaRepository;
     private final BookingRepository bookingRepository; // Added for check
+    private final ArchivedBookingRepository archivedBookingRepository;
 
     public ReviewService(ReviewRepository reviewRepository, UserRepository userRepository, 
-                         SpaRepository spaRepository, BookingRepository bookingRepository) {
+                         SpaRepository spaRepository, BookingRepository bookingRepository,
+                         ArchivedBookingRepository archivedBookingRepository) {
         this.reviewRepository = reviewRepository;
         this.userRepository = userRepository;
         this.spaRepository = spaRepository;
         this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
     }
 
     /**
@@ -39,7 +43,10 @@ public class ReviewService {
         // --- EDGE CASE LOGIC (Business Rules) ---
         
         // 1. Check if user has a confirmed booking at this spa.
+        // Old bookings may have been moved to the archive.
         boolean hasBooking = bookingRepository.existsByCustomerIdAndSpaIdAndStatus(
+                userId, spaId, BookingStatus.CONFIRMED)
+                || archivedBookingRepository.existsByCustomerIdAndSpaIdAndStatus(
                 userId, spaId, BookingStatus.CONFIRMED);
 
         if (!hasBooking) {
@@ -0,0 +1,85 @@
+package com.example.spas.service;
+
+import com.example.spas.repository.SchedulerLeaseRepository;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Database leases for scheduled jobs that must not run on two app instances
+ * at once. A lease is one row in scheduler_leases taken with a conditional
+ * UPDATE; if the holder dies, the lease simply runs out.
+ *
+ * Pick a lease longer than the job's worst-case run time.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    public SchedulerLeaseService(
+        SchedulerLeaseRepository schedulerLeaseRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Returns true if this instance now holds the lease for the given time.
+     */
+    public boolean tryAcquire(String name, Duration leaseTime) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(leaseTime);
+        Integer taken = transactionTemplate.execute(status ->
+                schedulerLeaseRepository.tryTake(name, owner, now, lockedUntil));
+        if (taken != null && taken == 1) {
+            return true;
+        }
+
+        // --- EDGE CASE LOGIC ---
+        // No row yet for this job: the first instance to insert it wins.
+        if (schedulerLeaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    schedulerLeaseRepository.insert(name, owner, lockedUntil));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * This instance's name in lease rows, unique per running process.
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Gives the lease back early so the next run (on any instance) need not wait.
+     */
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                schedulerLeaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.spas.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent identical reads: while one caller is loading
+ * (name, key), every other caller asking for the same thing waits for that
+ * result instead of running its own query. Nothing is kept after the load
+ * finishes, so this is not a cache; it only caps how many copies of the same
+ * read hit the database at once during a burst.
+ *
+ * Call it outside the service transaction (from the controller), so the
+ * followers wait on the whole load, not on a half-open transaction.
+ * Results are shared between callers and must not be modified.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the loader, or joins the identical load already in flight.
+     * Edge Case: If the load fails, every waiting caller gets the same exception.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        String flightKey = name + ":" + key;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        if (existing != null) {
+            meterRegistry.counter("spas.singleflight.calls", "name", name, "role", "follower").increment();
+            return (T) await(existing);
+        }
+
+        meterRegistry.counter("spas.singleflight.calls", "name", name, "role", "leader").increment();
+        try {
+            T result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
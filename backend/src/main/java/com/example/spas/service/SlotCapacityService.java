@@ -0,0 +1,425 @@
+package com.example.spas.service;
+
+import com.example.spas.model.SlotAllocation;
+import com.example.spas.model.Spa;
+import com.example.spas.model.enums.AllocationScope;
+import com.example.spas.repository.ReservationHoldRepository;
+import com.example.spas.repository.SlotAllocationRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Capacity per 15-minute unit: a booking takes one unit of every quarter
+ * hour in [start, start + duration). A service takes up to its capacity
+ * bookings per unit, and all services of a spa together take up to the
+ * spa's resource count (if set), so a 90-minute booking at 10:00 also
+ * counts against a booking at 11:00. Both limits are enforced with
+ * counters in slot_allocations, raised by a conditional UPDATE inside the
+ * booking transaction, so two bookings can never both take the last unit
+ * and the bookings table is never locked.
+ *
+ * Active reservation holds also use up capacity, but softly: they are
+ * subtracted from both limits when booking, not counted in the rows. To
+ * keep that count exact, holds and bookings lock the service's and the
+ * spa's counter rows of the units (lockSlot) before counting the holds.
+ */
+@Service
+public class SlotCapacityService {
+
+    // Above this many services, windows are loaded without an id filter
+    private static final int MAX_IN_LIST = 100;
+
+    // Counter updates, in SQL for JDBC batching
+    private static final String TRY_INCREMENT_SQL = "UPDATE slot_allocations SET booked = booked + 1 " +
+            "WHERE scope = ? AND owner_id = ? AND slot_time = ? AND booked < ?";
+    private static final String DECREMENT_SQL = "UPDATE slot_allocations SET booked = booked - 1 " +
+            "WHERE scope = ? AND owner_id = ? AND slot_time = ? AND booked > 0";
+
+    private final SlotAllocationRepository slotAllocationRepository;
+    private final ReservationHoldRepository reservationHoldRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public SlotCapacityService(
+        SlotAllocationRepository slotAllocationRepository,
+        ReservationHoldRepository reservationHoldRepository,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.slotAllocationRepository = slotAllocationRepository;
+        this.reservationHoldRepository = reservationHoldRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Takes the units of a new booking, in the caller's transaction. Other
+     * customers' active holds on the service and the spa are left free; the
+     * customer's own hold on the slot is not, as the booking uses it up.
+     * Edge Case: Throws if either the service or the spa is full in any unit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void allocate(com.example.spas.model.Service service, LocalDateTime startTime, Long customerId) {
+        if (!take(service, List.of(startTime), customerId).isEmpty()) {
+            throw new IllegalStateException("This time slot is fully booked.");
+        }
+    }
+
+    /**
+     * Takes the units of every slot of a recurring series, in the caller's
+     * transaction. The counter updates are sent as one JDBC batch per scope.
+     * Edge Case: Throws, naming the full slots, if any slot is full; the
+     * caller's transaction then rolls back the units already taken.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void allocateAll(com.example.spas.model.Service service, List<LocalDateTime> startTimes, Long customerId) {
+        List<LocalDateTime> full = take(service, startTimes, customerId);
+        if (!full.isEmpty()) {
+            throw new IllegalStateException("These time slots are fully booked: " + full);
+        }
+    }
+
+    /**
+     * Locks the service's and the spa's counter rows of the slot's units
+     * until the caller commits. Call before counting holds and taking a
+     * hold: whoever locks second sees the first one's hold or booking.
+     * allocate and allocateAll take the same locks themselves.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockSlot(com.example.spas.model.Service service, LocalDateTime startTime) {
+        lockUnits(service, unitsOf(startTime, SpaScheduleService.durationOf(service.getDurationInMinutes())));
+    }
+
+    /**
+     * Gives the units back when a booking is cancelled or declined.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(com.example.spas.model.Service service, LocalDateTime startTime) {
+        List<LocalDateTime> units = unitsOf(startTime, SpaScheduleService.durationOf(service.getDurationInMinutes()));
+        jdbcTemplate.batchUpdate(DECREMENT_SQL, counterRows(AllocationScope.SERVICE, service.getId(), units));
+        jdbcTemplate.batchUpdate(DECREMENT_SQL, counterRows(AllocationScope.SPA, service.getSpa().getId(), units));
+    }
+
+    /**
+     * Bookings or holds that still fit in a slot, after bookings and active
+     * holds, in its fullest unit.
+     */
+    @Transactional(readOnly = true)
+    public long freeCapacity(com.example.spas.model.Service service, LocalDateTime startTime) {
+        CapacityWindow window = loadWindow(List.of(service.getId()), List.of(service.getSpa().getId()),
+                startTime, startTime.plusSeconds(1));
+        return window.free(service, startTime);
+    }
+
+    /**
+     * The candidate start times of a day that still have free capacity.
+     */
+    @Transactional(readOnly = true)
+    public List<LocalTime> freeSlots(com.example.spas.model.Service service, LocalDate date, List<LocalTime> candidates) {
+        CapacityWindow window = loadWindow(List.of(service.getId()), List.of(service.getSpa().getId()),
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        List<LocalTime> free = new ArrayList<>();
+        for (LocalTime time : candidates) {
+            if (window.free(service, date.atTime(time)) > 0) {
+                free.add(time);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Bookings and active holds of many services for the slots starting in
+     * [from, to), loaded with three queries, for answering many
+     * free-capacity checks in memory. Whole days are loaded, so a slot's
+     * units are all in the window. Large sets read the whole window
+     * instead of binding thousands of ids.
+     */
+    @Transactional(readOnly = true)
+    public CapacityWindow loadWindow(Collection<Long> serviceIds, Collection<Long> spaIds,
+                                     LocalDateTime from, LocalDateTime to) {
+        LocalDateTime dayStart = from.toLocalDate().atStartOfDay();
+        LocalDateTime dayEnd = to.toLocalDate().atStartOfDay();
+        if (dayEnd.isBefore(to)) {
+            dayEnd = dayEnd.plusDays(1);
+        }
+        CapacityWindow window = loadBookings(serviceIds, spaIds, dayStart, dayEnd);
+        if (serviceIds.isEmpty()) {
+            return window;
+        }
+        List<ReservationHoldRepository.HoldSpan> holds = serviceIds.size() > MAX_IN_LIST
+                ? reservationHoldRepository.findAllActiveSpans(dayStart, dayEnd, LocalDateTime.now())
+                : reservationHoldRepository.findActiveSpans(window.spaBooked.keySet(), dayStart, dayEnd, LocalDateTime.now());
+        for (ReservationHoldRepository.HoldSpan hold : holds) {
+            window.addHold(hold);
+        }
+        return window;
+    }
+
+    /**
+     * Unit usage of a set of services and their spas in a time window. Not
+     * thread-safe; meant to be used and dropped within one request.
+     */
+    public static final class CapacityWindow {
+
+        private final Map<Long, Map<LocalDateTime, Integer>> serviceBooked = new HashMap<>();
+        private final Map<Long, Map<LocalDateTime, Integer>> spaBooked = new HashMap<>();
+        private final Map<Long, Map<LocalDateTime, Integer>> serviceHeld = new HashMap<>();
+        private final Map<Long, Map<LocalDateTime, Integer>> spaHeld = new HashMap<>();
+
+        private CapacityWindow() {
+        }
+
+        /** Bookings or holds that still fit in the slot, in its fullest unit. */
+        public long free(com.example.spas.model.Service service, LocalDateTime startTime) {
+            Spa spa = service.getSpa();
+            return free(service.getId(), service.getCapacity(), spa.getId(), spa.getResourceCount(),
+                    service.getDurationInMinutes(), startTime);
+        }
+
+        /** Same as free(Service, LocalDateTime), for callers holding only the numbers. */
+        public long free(Long serviceId, int capacity, Long spaId, Integer resourceCount,
+                         Integer durationInMinutes, LocalDateTime startTime) {
+            long free = Long.MAX_VALUE;
+            for (LocalDateTime unit : unitsOf(startTime, SpaScheduleService.durationOf(durationInMinutes))) {
+                long serviceFree = capacity - count(serviceBooked, serviceId, unit) - count(serviceHeld, serviceId, unit);
+                long spaFree = spaLimit(resourceCount) - count(spaBooked, spaId, unit) - count(spaHeld, spaId, unit);
+                free = Math.min(free, Math.min(serviceFree, spaFree));
+            }
+            return free;
+        }
+
+        private void addHold(ReservationHoldRepository.HoldSpan hold) {
+            boolean ofService = serviceBooked.containsKey(hold.getServiceId());
+            boolean ofSpa = spaBooked.containsKey(hold.getSpaId());
+            if (!ofService && !ofSpa) {
+                return;
+            }
+            for (LocalDateTime unit : unitsOf(hold.getSlotTime(), SpaScheduleService.durationOf(hold.getDurationInMinutes()))) {
+                if (ofService) {
+                    serviceHeld.computeIfAbsent(hold.getServiceId(), id -> new HashMap<>()).merge(unit, 1, Integer::sum);
+                }
+                if (ofSpa) {
+                    spaHeld.computeIfAbsent(hold.getSpaId(), id -> new HashMap<>()).merge(unit, 1, Integer::sum);
+                }
+            }
+        }
+
+        private static int count(Map<Long, Map<LocalDateTime, Integer>> counts, Long ownerId, LocalDateTime unit) {
+            Map<LocalDateTime, Integer> owner = counts.get(ownerId);
+            return owner == null ? 0 : owner.getOrDefault(unit, 0);
+        }
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * The 15-minute units a slot takes: every quarter hour in
+     * [start, start + duration), with a start off the grid rounded down.
+     */
+    static List<LocalDateTime> unitsOf(LocalDateTime startTime, int durationInMinutes) {
+        LocalDateTime end = startTime.plusMinutes(durationInMinutes);
+        LocalDateTime unit = startTime.truncatedTo(ChronoUnit.MINUTES)
+                .minusMinutes(startTime.getMinute() % SpaSchedule.MINUTES_PER_UNIT);
+        List<LocalDateTime> units = new ArrayList<>();
+        while (unit.isBefore(end)) {
+            units.add(unit);
+            unit = unit.plusMinutes(SpaSchedule.MINUTES_PER_UNIT);
+        }
+        return units;
+    }
+
+    /**
+     * Locks the units' counters, the service's rows first and then the
+     * spa's, each in time order, so two bookings cannot deadlock.
+     */
+    private void lockUnits(com.example.spas.model.Service service, Collection<LocalDateTime> units) {
+        List<LocalDateTime> sorted = new ArrayList<>(new TreeSet<>(units));
+        Long spaId = service.getSpa().getId();
+        ensureCounters(AllocationScope.SERVICE, service.getId(), sorted);
+        ensureCounters(AllocationScope.SPA, spaId, sorted);
+        slotAllocationRepository.lockCounters(AllocationScope.SERVICE.name(), service.getId(), sorted);
+        slotAllocationRepository.lockCounters(AllocationScope.SPA.name(), spaId, sorted);
+    }
+
+    /**
+     * Locks the units of the slots, then takes one of each unless the
+     * service or the spa is full there after other customers' holds.
+     * Returns the start times that did not fit.
+     */
+    private List<LocalDateTime> take(com.example.spas.model.Service service, List<LocalDateTime> startTimes,
+                                     Long customerId) {
+        Spa spa = service.getSpa();
+        int duration = SpaScheduleService.durationOf(service.getDurationInMinutes());
+        List<LocalDateTime> units = new ArrayList<>();
+        List<LocalDateTime> unitStarts = new ArrayList<>();
+        for (LocalDateTime startTime : startTimes) {
+            for (LocalDateTime unit : unitsOf(startTime, duration)) {
+                units.add(unit);
+                unitStarts.add(startTime);
+            }
+        }
+        lockUnits(service, units);
+
+        // Counted after the lock, so no hold can be added before the update
+        CapacityWindow held = heldByOthers(service, startTimes, customerId);
+        List<Object[]> serviceUpdates = new ArrayList<>(units.size());
+        List<Object[]> spaUpdates = new ArrayList<>(units.size());
+        for (LocalDateTime unit : units) {
+            serviceUpdates.add(new Object[] {AllocationScope.SERVICE.name(), service.getId(), unit,
+                    service.getCapacity() - CapacityWindow.count(held.serviceHeld, service.getId(), unit)});
+            spaUpdates.add(new Object[] {AllocationScope.SPA.name(), spa.getId(), unit,
+                    spaLimit(spa) - CapacityWindow.count(held.spaHeld, spa.getId(), unit)});
+        }
+        int[] serviceTaken = jdbcTemplate.batchUpdate(TRY_INCREMENT_SQL, serviceUpdates);
+        int[] spaTaken = jdbcTemplate.batchUpdate(TRY_INCREMENT_SQL, spaUpdates);
+
+        Set<LocalDateTime> full = new LinkedHashSet<>();
+        for (int i = 0; i < units.size(); i++) {
+            if (serviceTaken[i] == 0 || spaTaken[i] == 0) {
+                full.add(unitStarts.get(i));
+            }
+        }
+        return new ArrayList<>(full);
+    }
+
+    /**
+     * Active holds on the service's spa over the days of the slots, except
+     * the customer's own holds on these slots, which the booking uses up.
+     */
+    private CapacityWindow heldByOthers(com.example.spas.model.Service service, List<LocalDateTime> startTimes,
+                                        Long customerId) {
+        CapacityWindow window = new CapacityWindow();
+        window.serviceBooked.put(service.getId(), new HashMap<>());
+        window.spaBooked.put(service.getSpa().getId(), new HashMap<>());
+        LocalDateTime from = Collections.min(startTimes).toLocalDate().atStartOfDay();
+        LocalDateTime to = Collections.max(startTimes).toLocalDate().plusDays(1).atStartOfDay();
+        Set<LocalDateTime> ownSlots = new HashSet<>(startTimes);
+        for (ReservationHoldRepository.HoldSpan hold : reservationHoldRepository.findActiveSpans(
+                List.of(service.getSpa().getId()), from, to, LocalDateTime.now())) {
+            boolean own = hold.getCustomerId().equals(customerId) && hold.getServiceId().equals(service.getId())
+                    && ownSlots.contains(hold.getSlotTime());
+            if (!own) {
+                window.addHold(hold);
+            }
+        }
+        return window;
+    }
+
+    private static List<Object[]> counterRows(AllocationScope scope, Long ownerId, List<LocalDateTime> units) {
+        List<Object[]> rows = new ArrayList<>(units.size());
+        for (LocalDateTime unit : units) {
+            rows.add(new Object[] {scope.name(), ownerId, unit});
+        }
+        return rows;
+    }
+
+    /**
+     * Creates a unit's counter row on first use. Runs in its own short
+     * transaction so that losing the insert race to another booking only
+     * costs a caught exception, not the caller's transaction.
+     */
+    private void ensureCounter(AllocationScope scope, Long ownerId, LocalDateTime slotTime) {
+        if (slotAllocationRepository.existsByScopeAndOwnerIdAndSlotTime(scope, ownerId, slotTime)) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    slotAllocationRepository.saveAndFlush(new SlotAllocation(scope, ownerId, slotTime)));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another booking: fine
+        }
+    }
+
+    /**
+     * ensureCounter for many units of one owner: one query for the existing
+     * counters and one short transaction for the missing ones.
+     */
+    private void ensureCounters(AllocationScope scope, Long ownerId, List<LocalDateTime> slotTimes) {
+        LocalDateTime first = Collections.min(slotTimes);
+        LocalDateTime last = Collections.max(slotTimes);
+        Set<LocalDateTime> existing = new HashSet<>();
+        for (SlotAllocation counter : slotAllocationRepository.findRange(
+                scope, List.of(ownerId), first, last.plusSeconds(1))) {
+            existing.add(counter.getSlotTime());
+        }
+        List<SlotAllocation> missing = new ArrayList<>();
+        for (LocalDateTime slotTime : slotTimes) {
+            if (!existing.contains(slotTime)) {
+                missing.add(new SlotAllocation(scope, ownerId, slotTime));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> slotAllocationRepository.saveAllAndFlush(missing));
+        } catch (DataIntegrityViolationException e) {
+            // Another booking created one of them meanwhile: go one by one
+            for (SlotAllocation counter : missing) {
+                ensureCounter(scope, ownerId, counter.getSlotTime());
+            }
+        }
+    }
+
+    private CapacityWindow loadBookings(Collection<Long> serviceIds, Collection<Long> spaIds,
+                                        LocalDateTime from, LocalDateTime to) {
+        CapacityWindow window = new CapacityWindow();
+        for (Long serviceId : serviceIds) {
+            window.serviceBooked.put(serviceId, new HashMap<>());
+        }
+        for (Long spaId : spaIds) {
+            window.spaBooked.put(spaId, new HashMap<>());
+        }
+        if (serviceIds.isEmpty()) {
+            return window;
+        }
+        boolean wholeWindow = serviceIds.size() > MAX_IN_LIST;
+        List<SlotAllocation> serviceCounters = wholeWindow
+                ? slotAllocationRepository.findAllInRange(AllocationScope.SERVICE, from, to)
+                : slotAllocationRepository.findRange(AllocationScope.SERVICE, window.serviceBooked.keySet(), from, to);
+        List<SlotAllocation> spaCounters = wholeWindow
+                ? slotAllocationRepository.findAllInRange(AllocationScope.SPA, from, to)
+                : slotAllocationRepository.findRange(AllocationScope.SPA, window.spaBooked.keySet(), from, to);
+        putCounters(window.serviceBooked, serviceCounters);
+        putCounters(window.spaBooked, spaCounters);
+        return window;
+    }
+
+    private static void putCounters(Map<Long, Map<LocalDateTime, Integer>> counts, List<SlotAllocation> counters) {
+        for (SlotAllocation counter : counters) {
+            Map<LocalDateTime, Integer> owner = counts.get(counter.getOwnerId());
+            if (owner != null) {
+                owner.put(counter.getSlotTime(), counter.getBooked());
+            }
+        }
+    }
+
+    private static long spaLimit(Spa spa) {
+        return spaLimit(spa.getResourceCount());
+    }
+
+    private static long spaLimit(Integer resourceCount) {
+        return resourceCount == null ? Integer.MAX_VALUE : resourceCount;
+    }
+}
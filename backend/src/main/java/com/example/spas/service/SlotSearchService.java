@@ -0,0 +1,183 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookableService;
+import com.example.spas.dto.NextSlotView;
+import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.model.enums.ServiceStatus;
+import com.example.spas.repository.ServiceRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Feature 9 (next available): "The earliest free massage anywhere".
+ *
+ * All matching services are read as plain rows in one query, and the
+ * bookings and holds of the whole window in three more; spa hours come from
+ * the compiled schedule cache. Each service then becomes a
+ * cursor walking its own free slots in time order, and a priority queue
+ * merges the cursors: taking K results costs O(N + K log N) for N services,
+ * and a service is only scanned as far as it needs to be.
+ */
+@Service
+public class SlotSearchService {
+
+    static final Duration DEFAULT_WINDOW = Duration.ofDays(7);
+    static final Duration MAX_WINDOW = Duration.ofDays(14);
+    static final int MAX_RESULTS = 50;
+
+    // Earliest first; the cheaper service wins a tie
+    private static final Comparator<SlotCursor> EARLIEST_FIRST = Comparator
+            .comparing((SlotCursor cursor) -> cursor.next)
+            .thenComparing(cursor -> cursor.service.getPrice())
+            .thenComparing(cursor -> cursor.service.getServiceId());
+
+    private final ServiceRepository serviceRepository;
+    private final SlotCapacityService slotCapacityService;
+    private final SpaScheduleService spaScheduleService;
+
+    public SlotSearchService(
+        ServiceRepository serviceRepository,
+        SlotCapacityService slotCapacityService,
+        SpaScheduleService spaScheduleService
+    ) {
+        this.serviceRepository = serviceRepository;
+        this.slotCapacityService = slotCapacityService;
+        this.spaScheduleService = spaScheduleService;
+    }
+
+    /**
+     * The earliest free slots in [from, to) of approved, available services
+     * whose name contains the given text (any service if blank).
+     * Edge Case: from defaults to now, to to a week later; windows over
+     * 14 days and more than 50 results are refused.
+     */
+    @Transactional(readOnly = true)
+    @Timed("spas.service")
+    public List<NextSlotView> findEarliestSlots(String name, LocalDateTime from, LocalDateTime to, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime end = to == null ? start.plus(DEFAULT_WINDOW) : to;
+
+        // --- EDGE CASE LOGIC (Validation) ---
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("The search window must end in the future and after its start.");
+        }
+        if (Duration.between(start, end).compareTo(MAX_WINDOW) > 0) {
+            throw new IllegalArgumentException("The search window cannot be longer than " + MAX_WINDOW.toDays() + " days.");
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS + ".");
+        }
+        // --- END EDGE CASE ---
+
+        List<BookableService> services = serviceRepository.findBookableByName(
+                name == null ? "" : escapeLike(name.trim()), ApprovalStatus.APPROVED, ServiceStatus.AVAILABLE);
+        if (services.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> serviceIds = new ArrayList<>(services.size());
+        Set<Long> spaIds = new HashSet<>();
+        for (BookableService service : services) {
+            serviceIds.add(service.getServiceId());
+            spaIds.add(service.getSpaId());
+        }
+        SlotCapacityService.CapacityWindow window = slotCapacityService.loadWindow(serviceIds, spaIds, start, end);
+        spaScheduleService.preload(spaIds);
+
+        PriorityQueue<SlotCursor> queue = new PriorityQueue<>(services.size(), EARLIEST_FIRST);
+        for (BookableService service : services) {
+            SlotCursor cursor = new SlotCursor(service, window, start, end);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        List<NextSlotView> slots = new ArrayList<>(limit);
+        while (slots.size() < limit && !queue.isEmpty()) {
+            SlotCursor cursor = queue.poll();
+            slots.add(mapToNextSlotView(cursor.service, cursor.next));
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return slots;
+    }
+
+    // --- Helper Methods ---
+
+    // "50%" or "deep_tissue" are searched literally, not as wildcards
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Walks one service's free start times in [from, to), day by day.
+     */
+    private final class SlotCursor {
+
+        private final BookableService service;
+        private final SlotCapacityService.CapacityWindow window;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        private LocalDate day;
+        private Iterator<LocalTime> times = Collections.emptyIterator();
+        private LocalDateTime next;
+
+        SlotCursor(BookableService service, SlotCapacityService.CapacityWindow window,
+                   LocalDateTime from, LocalDateTime to) {
+            this.service = service;
+            this.window = window;
+            this.from = from;
+            this.to = to;
+            this.day = from.toLocalDate().minusDays(1);
+        }
+
+        /** Moves to the next free slot; false once the window is used up. */
+        boolean advance() {
+            while (true) {
+                while (times.hasNext()) {
+                    LocalDateTime slot = day.atTime(times.next());
+                    if (!slot.isBefore(to)) {
+                        return false;
+                    }
+                    if (!slot.isBefore(from) && window.free(service.getServiceId(), service.getCapacity(),
+                            service.getSpaId(), service.getResourceCount(), service.getDurationInMinutes(), slot) > 0) {
+                        next = slot;
+                        return true;
+                    }
+                }
+                day = day.plusDays(1);
+                if (!day.atStartOfDay().isBefore(to)) {
+                    return false;
+                }
+                times = spaScheduleService.startTimes(service.getSpaId(), service.getDurationInMinutes(), day).iterator();
+            }
+        }
+    }
+
+    private NextSlotView mapToNextSlotView(BookableService service, LocalDateTime slotTime) {
+        return new NextSlotView(
+                slotTime,
+                service.getServiceId(),
+                service.getServiceName(),
+                service.getPrice(),
+                service.getDurationInMinutes(),
+                service.getSpaId(),
+                service.getSpaName()
+        );
+    }
+}
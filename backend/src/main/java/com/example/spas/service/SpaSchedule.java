@@ -0,0 +1,181 @@
+package com.example.spas.service;
+
+import com.example.spas.model.OpeningPeriod;
+import com.example.spas.model.ScheduleException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A spa's opening hours compiled to bitsets: one bit per quarter hour of the
+ * day, set while the spa is open. Each day is 96 bits (two longs), so
+ * checking a booking or finding every possible start time of a service is a
+ * handful of word operations instead of a loop over time objects.
+ *
+ * Immutable once built; SpaScheduleService caches one per spa.
+ */
+public final class SpaSchedule {
+
+    public static final int MINUTES_PER_UNIT = 15;
+    private static final int UNITS_PER_DAY = 24 * 60 / MINUTES_PER_UNIT;
+    private static final int WORDS = (UNITS_PER_DAY + 63) / 64;
+
+    /** Hours used by spas that have not set their own. */
+    public static final LocalTime DEFAULT_OPENS_AT = LocalTime.of(9, 0);
+    public static final LocalTime DEFAULT_CLOSES_AT = LocalTime.of(18, 0);
+
+    /** Bookable start times: on the hour, as the booking UI has always offered. */
+    private static final int START_EVERY_MINUTES = 60;
+    private static final long[] HOURLY_STARTS = grid(START_EVERY_MINUTES);
+
+    private final long[][] weekly = new long[7][];
+    private final Map<LocalDate, long[]> exceptions = new HashMap<>();
+
+    private SpaSchedule() {
+    }
+
+    /**
+     * Compiles the weekly periods (default hours if there are none) and the
+     * date exceptions.
+     */
+    public static SpaSchedule compile(List<OpeningPeriod> openingHours, List<ScheduleException> scheduleExceptions) {
+        SpaSchedule schedule = new SpaSchedule();
+        for (int day = 0; day < 7; day++) {
+            schedule.weekly[day] = new long[WORDS];
+        }
+        if (openingHours.isEmpty()) {
+            for (long[] day : schedule.weekly) {
+                setRange(day, DEFAULT_OPENS_AT, DEFAULT_CLOSES_AT);
+            }
+        }
+        for (OpeningPeriod period : openingHours) {
+            setRange(schedule.weekly[period.getDayOfWeek().getValue() - 1], period.getOpensAt(), period.getClosesAt());
+        }
+        for (ScheduleException exception : scheduleExceptions) {
+            long[] day = new long[WORDS];
+            if (!exception.isClosedAllDay()) {
+                setRange(day, exception.getOpensAt(), exception.getClosesAt());
+            }
+            schedule.exceptions.put(exception.getExceptionDate(), day);
+        }
+        return schedule;
+    }
+
+    /**
+     * True if the spa is open for the whole of [start, start + duration).
+     * Edge Case: Bookings cannot run past midnight.
+     * Edge Case: Start times that startTimes never offers are never open.
+     */
+    public boolean isOpen(LocalDateTime start, int durationMinutes) {
+        int startMinute = start.getHour() * 60 + start.getMinute();
+        int endMinute = startMinute + durationMinutes;
+        if (!isStartTime(start.toLocalTime()) || endMinute > 24 * 60) {
+            return false;
+        }
+        int fromUnit = startMinute / MINUTES_PER_UNIT;
+        int toUnit = (endMinute + MINUTES_PER_UNIT - 1) / MINUTES_PER_UNIT;
+        return allSet(openUnits(start.toLocalDate()), fromUnit, toUnit);
+    }
+
+    /**
+     * Start times on the hour at which a service of this length fits
+     * entirely inside the day's opening hours.
+     */
+    public List<LocalTime> startTimes(LocalDate date, int durationMinutes) {
+        long[] open = openUnits(date);
+        int durationUnits = Math.max(1, (durationMinutes + MINUTES_PER_UNIT - 1) / MINUTES_PER_UNIT);
+
+        // Bit i survives if units i .. i + durationUnits - 1 are all open
+        long[] starts = new long[WORDS];
+        for (int w = 0; w < WORDS; w++) {
+            starts[w] = open[w] & HOURLY_STARTS[w];
+        }
+        for (int k = 1; k < durationUnits; k++) {
+            for (int w = 0; w < WORDS; w++) {
+                starts[w] &= shiftedWord(open, w, k);
+            }
+        }
+
+        List<LocalTime> times = new ArrayList<>();
+        for (int w = 0; w < WORDS; w++) {
+            long bits = starts[w];
+            while (bits != 0) {
+                int unit = w * 64 + Long.numberOfTrailingZeros(bits);
+                times.add(LocalTime.of(0, 0).plusMinutes((long) unit * MINUTES_PER_UNIT));
+                bits &= bits - 1;
+            }
+        }
+        return times;
+    }
+
+    /**
+     * True if the time is on the start grid that startTimes offers.
+     */
+    public static boolean isStartTime(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0
+                && (time.getHour() * 60 + time.getMinute()) % START_EVERY_MINUTES == 0;
+    }
+
+    // --- Helper Methods ---
+
+    private long[] openUnits(LocalDate date) {
+        long[] exception = exceptions.get(date);
+        if (exception != null) {
+            return exception;
+        }
+        DayOfWeek day = date.getDayOfWeek();
+        return weekly[day.getValue() - 1];
+    }
+
+    /** Word w of the bitset shifted right by k bits (bit i becomes bit i - k). */
+    private static long shiftedWord(long[] bits, int w, int k) {
+        int wordShift = k / 64;
+        int bitShift = k % 64;
+        int src = w + wordShift;
+        if (src >= bits.length) {
+            return 0;
+        }
+        long word = bits[src] >>> bitShift;
+        if (bitShift != 0 && src + 1 < bits.length) {
+            word |= bits[src + 1] << (64 - bitShift);
+        }
+        return word;
+    }
+
+    private static boolean allSet(long[] bits, int fromUnit, int toUnit) {
+        for (int unit = fromUnit; unit < toUnit; ) {
+            int w = unit / 64;
+            int lo = unit % 64;
+            int hi = Math.min(64, lo + (toUnit - unit));
+            long mask = (hi == 64 ? -1L : (1L << hi) - 1) & (-1L << lo);
+            if ((bits[w] & mask) != mask) {
+                return false;
+            }
+            unit += hi - lo;
+        }
+        return true;
+    }
+
+    private static void setRange(long[] bits, LocalTime opensAt, LocalTime closesAt) {
+        int from = (opensAt.getHour() * 60 + opensAt.getMinute()) / MINUTES_PER_UNIT;
+        // 00:00 as a closing time means midnight at the end of the day
+        int closeMinute = closesAt.equals(LocalTime.MIDNIGHT) ? 24 * 60 : closesAt.getHour() * 60 + closesAt.getMinute();
+        int to = closeMinute / MINUTES_PER_UNIT;
+        for (int unit = from; unit < to; unit++) {
+            bits[unit / 64] |= 1L << (unit % 64);
+        }
+    }
+
+    private static long[] grid(int everyMinutes) {
+        long[] bits = new long[WORDS];
+        for (int unit = 0; unit < UNITS_PER_DAY; unit += everyMinutes / MINUTES_PER_UNIT) {
+            bits[unit / 64] |= 1L << (unit % 64);
+        }
+        return bits;
+    }
+}
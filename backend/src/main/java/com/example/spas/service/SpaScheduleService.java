@@ -0,0 +1,264 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.OpeningHoursRequest;
+import com.example.spas.dto.OpeningHoursView;
+import com.example.spas.dto.OpeningPeriodRequest;
+import com.example.spas.dto.ScheduleExceptionRequest;
+import com.example.spas.exception.ResourceNotFoundException;
+import com.example.spas.model.OpeningPeriod;
+import com.example.spas.model.ScheduleException;
+import com.example.spas.model.Spa;
+import com.example.spas.repository.SpaRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Feature 10 (opening hours): Spa owners set weekly hours and date
+ * exceptions; availability and booking only offer times inside them.
+ *
+ * Each spa's hours are compiled into a SpaSchedule the first time they are
+ * needed and kept until the owner changes them, so the hot paths never
+ * reload or re-parse them. Every change bumps the spa's version, and a
+ * cached schedule compiled under an older version is ignored, so a reader
+ * that loaded the old hours cannot put them back after the eviction.
+ * Schedules are always loaded from the primary, in their own transaction,
+ * after the version is read.
+ */
+@Service
+public class SpaScheduleService {
+
+    /** Length assumed for services without a duration. */
+    static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private final SpaRepository spaRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final Map<Long, CachedSchedule> schedules = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public SpaScheduleService(SpaRepository spaRepository, PlatformTransactionManager transactionManager) {
+        this.spaRepository = spaRepository;
+        // Read-write, so never routed to a replica; new, so the hours are
+        // read fresh rather than from the caller's persistence context
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Start times on the hour at which the service fits inside the spa's
+     * hours on that date.
+     */
+    public List<LocalTime> startTimes(com.example.spas.model.Service service, LocalDate date) {
+        return scheduleFor(service.getSpa().getId()).startTimes(date, durationOf(service.getDurationInMinutes()));
+    }
+
+    /**
+     * Same as startTimes(Service, LocalDate), by spa id. Call preload first
+     * when asking for many spas.
+     */
+    public List<LocalTime> startTimes(Long spaId, Integer durationInMinutes, LocalDate date) {
+        return scheduleFor(spaId).startTimes(date, durationOf(durationInMinutes));
+    }
+
+    /**
+     * Compiles the schedules of the given spas that are not cached yet, with
+     * one query for the spas (their hours are batch-loaded).
+     */
+    public void preload(Collection<Long> spaIds) {
+        Map<Long, Long> missing = new HashMap<>();
+        for (Long spaId : spaIds) {
+            if (cached(spaId) == null) {
+                missing.put(spaId, versions.getOrDefault(spaId, 0L));
+            }
+        }
+        if (!missing.isEmpty()) {
+            primaryTransaction.executeWithoutResult(status -> {
+                for (Spa spa : spaRepository.findAllById(missing.keySet())) {
+                    put(spa, missing.get(spa.getId()));
+                }
+            });
+        }
+    }
+
+    /**
+     * Edge Case: Rejects a booking or hold that starts or ends outside the
+     * spa's opening hours, or on a day it is closed.
+     * Edge Case: Rejects start times that availability never offers (not on
+     * the hour).
+     */
+    public void requireOpen(com.example.spas.model.Service service, LocalDateTime startTime) {
+        if (!SpaSchedule.isStartTime(startTime.toLocalTime())) {
+            throw new IllegalArgumentException("Start times must be on the hour.");
+        }
+        if (!isOpen(service, startTime)) {
+            throw new IllegalStateException("The spa is not open for this service at the requested time.");
+        }
+    }
+
+    /**
+     * True if the service fits inside the spa's hours at that time.
+     */
+    public boolean isOpen(com.example.spas.model.Service service, LocalDateTime startTime) {
+        return scheduleFor(service.getSpa().getId()).isOpen(startTime, durationOf(service.getDurationInMinutes()));
+    }
+
+    /**
+     * Public: a spa's weekly hours and upcoming exceptions.
+     */
+    @Transactional(readOnly = true)
+    public OpeningHoursView getOpeningHours(Long spaId) {
+        Spa spa = spaRepository.findById(spaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Spa not found with id: " + spaId));
+        return mapToOpeningHoursView(spa, LocalDate.now());
+    }
+
+    /**
+     * Client replaces a spa's weekly hours and date exceptions.
+     * Existing bookings are kept even if they now fall outside the hours.
+     */
+    @Transactional
+    public OpeningHoursView updateOpeningHours(Long spaId, OpeningHoursRequest request, Long ownerId) {
+        Spa spa = spaRepository.findById(spaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Spa not found with id: " + spaId));
+
+        if (!spa.getOwner().getId().equals(ownerId)) {
+            throw new IllegalStateException("You do not own this spa.");
+        }
+
+        // --- EDGE CASE LOGIC (Validation) ---
+        List<OpeningPeriod> openingHours = new ArrayList<>();
+        for (OpeningPeriodRequest period : request.getWeeklyHours()) {
+            validatePeriod(period.getOpensAt(), period.getClosesAt());
+            openingHours.add(new OpeningPeriod(period.getDayOfWeek(), period.getOpensAt(), period.getClosesAt()));
+        }
+        List<ScheduleException> exceptions = new ArrayList<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (ScheduleExceptionRequest exception : request.getExceptions()) {
+            if (!dates.add(exception.getDate())) {
+                throw new IllegalArgumentException("Only one exception per date is allowed: " + exception.getDate());
+            }
+            if ((exception.getOpensAt() == null) != (exception.getClosesAt() == null)) {
+                throw new IllegalArgumentException("An exception needs both an opening and a closing time, or neither (closed all day).");
+            }
+            if (exception.getOpensAt() != null) {
+                validatePeriod(exception.getOpensAt(), exception.getClosesAt());
+            }
+            exceptions.add(new ScheduleException(
+                    exception.getDate(), exception.getOpensAt(), exception.getClosesAt(), exception.getReason()));
+        }
+        // --- END EDGE CASE ---
+
+        spa.getOpeningHours().clear();
+        spa.getOpeningHours().addAll(openingHours);
+        spa.getScheduleExceptions().clear();
+        spa.getScheduleExceptions().addAll(exceptions);
+        Spa updatedSpa = spaRepository.save(spa);
+
+        // Recompile on next use. The version is bumped again after commit:
+        // a reader that read the old hours before then fills under an
+        // older version, and its entry is ignored.
+        evict(spaId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(spaId);
+            }
+        });
+        return mapToOpeningHoursView(updatedSpa, null);
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * The spa's cached schedule, or loads, compiles and caches it. The
+     * version is read before the spa and its hours are loaded, so a change
+     * committed meanwhile leaves this fill behind the current version.
+     */
+    private SpaSchedule scheduleFor(Long spaId) {
+        SpaSchedule schedule = cached(spaId);
+        if (schedule != null) {
+            return schedule;
+        }
+        long version = versions.getOrDefault(spaId, 0L);
+        return primaryTransaction.execute(status -> put(spaRepository.findById(spaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Spa not found with id: " + spaId)), version));
+    }
+
+    // Compiles a spa loaded under the given version, inside its transaction
+    private SpaSchedule put(Spa spa, long version) {
+        SpaSchedule schedule = SpaSchedule.compile(spa.getOpeningHours(), spa.getScheduleExceptions());
+        // Keep the newer of two concurrent fills
+        schedules.merge(spa.getId(), new CachedSchedule(version, schedule),
+                (old, fresh) -> old.version() >= fresh.version() ? old : fresh);
+        return schedule;
+    }
+
+    // Null if not cached, or cached from hours that changed since
+    private SpaSchedule cached(Long spaId) {
+        CachedSchedule entry = schedules.get(spaId);
+        if (entry == null || entry.version() != versions.getOrDefault(spaId, 0L)) {
+            return null;
+        }
+        return entry.schedule();
+    }
+
+    private void evict(Long spaId) {
+        versions.merge(spaId, 1L, Long::sum);
+        schedules.remove(spaId);
+    }
+
+    static int durationOf(Integer durationInMinutes) {
+        return durationInMinutes == null || durationInMinutes <= 0 ? DEFAULT_DURATION_MINUTES : durationInMinutes;
+    }
+
+    private static void validatePeriod(LocalTime opensAt, LocalTime closesAt) {
+        if (!onQuarterHour(opensAt) || !onQuarterHour(closesAt)) {
+            throw new IllegalArgumentException("Opening hours must start and end on a quarter hour.");
+        }
+        // 00:00 as a closing time means midnight at the end of the day
+        if (!closesAt.equals(LocalTime.MIDNIGHT) && !opensAt.isBefore(closesAt)) {
+            throw new IllegalArgumentException("Opening time must be before closing time.");
+        }
+    }
+
+    private static boolean onQuarterHour(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % SpaSchedule.MINUTES_PER_UNIT == 0;
+    }
+
+    /**
+     * Past exceptions are left out when "from" is given.
+     */
+    private OpeningHoursView mapToOpeningHoursView(Spa spa, LocalDate from) {
+        List<OpeningPeriodRequest> weeklyHours = new ArrayList<>();
+        for (OpeningPeriod period : spa.getOpeningHours()) {
+            weeklyHours.add(new OpeningPeriodRequest(period.getDayOfWeek(), period.getOpensAt(), period.getClosesAt()));
+        }
+        List<ScheduleExceptionRequest> exceptions = new ArrayList<>();
+        for (ScheduleException exception : spa.getScheduleExceptions()) {
+            if (from == null || !exception.getExceptionDate().isBefore(from)) {
+                exceptions.add(new ScheduleExceptionRequest(
+                        exception.getExceptionDate(), exception.getOpensAt(), exception.getClosesAt(), exception.getReason()));
+            }
+        }
+        return new OpeningHoursView(spa.getId(), weeklyHours, exceptions);
+    }
+
+    private record CachedSchedule(long version, SpaSchedule schedule) {
+    }
+}
@@ -8,10 +8,12 @@ import com.example.spas.dto.SpaView;
 import com.example.spas.exception.ResourceNotFoundException;
 import com.example.spas.model.*;
 import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.monitoring.SpaDetailsEvent;
 import com.example.spas.repository.ReviewRepository;
 import com.example.spas.repository.ServiceRepository;
 import com.example.spas.repository.SpaRepository;
 import com.example.spas.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -42,6 +44,7 @@ public class SpaService {
     /**
      * For Admin: Get all spas, optionally filtered by status.
      */
+    @Transactional(readOnly = true)
     public List<SpaView> getSpasForAdmin(ApprovalStatus status) {
         List<Spa> spas;
 
@@ -63,6 +66,7 @@ public class SpaService {
     /**
      * For Client: Get all spas owned by the client.
      */
+    @Transactional(readOnly = true)
     public List<SpaView> getClientSpas(Long ownerId) {
         List<Spa> spas = spaRepository.findAllByOwnerId(ownerId);
         List<SpaView> spaViews = new ArrayList<>();
@@ -89,6 +93,9 @@ public class SpaService {
         spa.setName(request.getName());
         spa.setAddress(request.getAddress());
         spa.setDescription(request.getDescription());
+        if (request.getResourceCount() != null) {
+            spa.setResourceCount(request.getResourceCount());
+        }
         spa.setOwner(owner);
         spa.setApprovalStatus(ApprovalStatus.PENDING); // Default
 
@@ -99,6 +106,7 @@ public class SpaService {
     /**
      * Feature 3: Find Spas (all approved)
      */
+    @Transactional(readOnly = true)
     public List<SpaView> findAllApprovedSpas() {
         List<Spa> spas = spaRepository.findAllByApprovalStatus(
             ApprovalStatus.APPROVED
@@ -114,6 +122,8 @@ public class SpaService {
     /**
      * Feature 3: Find Spas (by name)
      */
+    @Transactional(readOnly = true)
+    @Timed("spas.service")
     public List<SpaView> findSpasByName(String name) {
         List<Spa> spas =
             spaRepository.findByNameContainingIgnoreCaseAndApprovalStatus(
@@ -131,7 +141,12 @@ public class SpaService {
     /**
      * Feature 5: View a single Spa's details
      */
+    @Transactional(readOnly = true)
+    @Timed("spas.service")
     public SpaDetailView getSpaDetails(Long spaId) {
+        SpaDetailsEvent event = new SpaDetailsEvent();
+        event.begin();
+
         Spa spa = spaRepository
             .findById(spaId)
             .orElseThrow(() ->
@@ -158,6 +173,11 @@ public class SpaService {
             reviewViews.add(mapToReviewView(review));
         }
 
+        event.spaId = spaId;
+        event.serviceCount = serviceViews.size();
+        event.reviewCount = reviewViews.size();
+        event.commit();
+
         return new SpaDetailView(
             spa.getId(),
             spa.getName(),
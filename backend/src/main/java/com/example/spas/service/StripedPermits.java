@@ -0,0 +1,59 @@
+package com.example.spas.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A pool of permits spread over several counters, so threads taking permits
+ * at the same time rarely touch the same one (the LongAdder idea, plus the
+ * take-if-positive operation LongAdder lacks). A thread starts at its own
+ * stripe and only moves on to the others when that one is empty.
+ *
+ * Stripes are spaced a cache line apart to avoid false sharing.
+ */
+final class StripedPermits {
+
+    private static final int SPACING = 8; // longs per 64-byte cache line
+
+    private final int stripes;
+    private final AtomicLongArray counts;
+
+    StripedPermits() {
+        this.stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.counts = new AtomicLongArray(stripes * SPACING);
+    }
+
+    /** Takes one permit if any stripe has one. */
+    boolean tryTake() {
+        int home = home();
+        for (int n = 0; n < stripes; n++) {
+            int index = ((home + n) & (stripes - 1)) * SPACING;
+            long available = counts.get(index);
+            while (available > 0) {
+                if (counts.compareAndSet(index, available, available - 1)) {
+                    return true;
+                }
+                available = counts.get(index);
+            }
+        }
+        return false;
+    }
+
+    /** Adds permits to the calling thread's stripe. */
+    void add(long permits) {
+        counts.addAndGet(home() * SPACING, permits);
+    }
+
+    /** Empties the pool, returning how many permits it held. */
+    long drain() {
+        long drained = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            drained += counts.getAndSet(stripe * SPACING, 0);
+        }
+        return drained;
+    }
+
+    private int home() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & (stripes - 1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.spas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: O(1) to add a timer, and advancing the clock
+ * only touches the buckets whose time has come, however many timers exist.
+ *
+ * Level 0 has wheelSize buckets of one tick each; every next level has
+ * wheelSize buckets each as wide as the whole level below. When the clock
+ * reaches a higher-level bucket, its timers are moved down a level. Timers
+ * further out than the top level are parked in the top level and moved again
+ * until they fit.
+ *
+ * There is no cancel: callers ignore timers that are no longer relevant.
+ * Not thread-safe on its own; callers synchronize.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks; // ticks per bucket, per level
+    private final List<List<Timer<T>>>[] levels;
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levelCount];
+        this.levels = new List[levelCount];
+        long ticks = 1;
+        for (int level = 0; level < levelCount; level++) {
+            levelTicks[level] = ticks;
+            ticks *= wheelSize;
+            levels[level] = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                levels[level].add(new ArrayList<>());
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Adds a timer. Returns false (and keeps nothing) if it is already due.
+     * Timers fire on the first tick at or after their expiry, never before.
+     */
+    boolean add(T item, long expiresAtMillis) {
+        long expiryTick = (expiresAtMillis + tickMillis - 1) / tickMillis;
+        if (!place(new Timer<>(item, expiryTick))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the clock to nowMillis and returns every timer that came due.
+     */
+    List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Move timers down from every higher level whose bucket starts now
+            for (int level = levels.length - 1; level > 0; level--) {
+                if (currentTick % levelTicks[level] == 0) {
+                    for (Timer<T> timer : takeBucket(level)) {
+                        if (!place(timer)) {
+                            due.add(timer.item);
+                        }
+                    }
+                }
+            }
+            for (Timer<T> timer : takeBucket(0)) {
+                if (timer.expiryTick <= currentTick || !place(timer)) {
+                    due.add(timer.item);
+                }
+            }
+        }
+        size -= due.size();
+        return due;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean place(Timer<T> timer) {
+        long delta = timer.expiryTick - currentTick;
+        if (delta <= 0) {
+            return false;
+        }
+        int top = levels.length - 1;
+        for (int level = 0; level <= top; level++) {
+            if (delta < levelTicks[level] * wheelSize || level == top) {
+                int bucket = (int) ((timer.expiryTick / levelTicks[level]) % wheelSize);
+                levels[level].get(bucket).add(timer);
+                return true;
+            }
+        }
+        return false; // not reached
+    }
+
+    private List<Timer<T>> takeBucket(int level) {
+        int bucket = (int) ((currentTick / levelTicks[level]) % wheelSize);
+        List<Timer<T>> timers = levels[level].get(bucket);
+        if (timers.isEmpty()) {
+            return timers;
+        }
+        levels[level].set(bucket, new ArrayList<>());
+        return timers;
+    }
+
+    private record Timer<T>(T item, long expiryTick) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.spas.service;
 
+import com.example.spas.dto.KeysetPage;
 import com.example.spas.dto.LoginRequest;
 import com.example.spas.dto.ProfileUpdateRequest;
 import com.example.spas.dto.RegistrationRequest;
@@ -13,7 +14,12 @@ import com.example.spas.model.enums.ServiceStatus;
 import com.example.spas.model.User;
 import com.example.spas.repository.ServiceRepository;
 import com.example.spas.repository.UserRepository;
+import com.example.spas.repository.UserSpecifications;
 import com.example.spas.model.Service;
+import com.example.spas.monitoring.AuthEvent;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -21,6 +27,9 @@ import java.util.List;
 @org.springframework.stereotype.Service
 public class UserService {
 
+    static final int DEFAULT_SEARCH_LIMIT = 50;
+    static final int MAX_SEARCH_LIMIT = 200;
+
     private final UserRepository userRepository;
     private final ServiceRepository serviceRepository; // <-- ADD THIS
     private final OfferService offerService;
@@ -63,15 +72,26 @@ public class UserService {
     /**
      * Feature 1: Login (Plain Text Check)
      */
+    @Timed("spas.service")
     public User login(LoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + request.getEmail()));
+        AuthEvent event = new AuthEvent();
+        event.begin();
+        event.outcome = AuthEvent.UNKNOWN_USER;
+        try {
+            User user = userRepository.findByEmail(request.getEmail())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + request.getEmail()));
+            event.userId = user.getId();
 
-        // Plain text password check
-        if (!user.getPassword().equals(request.getPassword())) {
-            throw new IllegalArgumentException("Invalid email or password.");
+            // Plain text password check
+            if (!user.getPassword().equals(request.getPassword())) {
+                event.outcome = AuthEvent.BAD_PASSWORD;
+                throw new IllegalArgumentException("Invalid email or password.");
+            }
+            event.outcome = AuthEvent.SUCCESS;
+            return user;
+        } finally {
+            event.commit();
         }
-        return user;
     }
 
     /**
@@ -91,6 +111,7 @@ public class UserService {
     /**
      * Feature 20: View all Clients
      */
+    @Transactional(readOnly = true)
     public List<UserView> getAllClients() {
         List<User> clients = userRepository.findAllByRole(Role.CLIENT);
         List<UserView> clientViews = new ArrayList<>();
@@ -104,6 +125,7 @@ public class UserService {
     /**
      * Feature 23: View customers by membership status
      */
+    @Transactional(readOnly = true)
     public List<UserView> getUsersByMembershipStatus(MembershipStatus status) {
         List<User> users = userRepository.findAllByMembershipStatus(status);
         List<UserView> userViews = new ArrayList<>();
@@ -117,6 +139,7 @@ public class UserService {
     /**
      * Feature 23: View customers by membership plan
      */
+    @Transactional(readOnly = true)
     public List<UserView> getUsersByMembershipId(Long membershipId) {
         List<User> users = userRepository.findAllByMembershipId(membershipId);
         List<UserView> userViews = new ArrayList<>();
@@ -126,6 +149,48 @@ public class UserService {
         }
         return userViews;
     }
+
+    /**
+     * Feature 23: Admin searches users by any mix of role, membership plan,
+     * membership status and email/name prefix, one page at a time in id
+     * order. "after" is the nextCursor of the previous page.
+     * Edge Case: A limit outside 1-200 or a malformed cursor is refused.
+     */
+    @Transactional(readOnly = true)
+    @Timed("spas.service")
+    public KeysetPage<UserView> searchUsers(Role role, Long membershipId, MembershipStatus status,
+                                            String prefix, String after, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+
+        // --- EDGE CASE LOGIC (Validation) ---
+        if (pageSize < 1 || pageSize > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT + ".");
+        }
+        Long afterId = null;
+        if (after != null && !after.isBlank()) {
+            try {
+                afterId = Long.valueOf(after);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + after);
+            }
+        }
+        // --- END EDGE CASE ---
+
+        Specification<User> spec = Specification.where(UserSpecifications.hasRole(role))
+                .and(UserSpecifications.hasMembershipPlan(membershipId))
+                .and(UserSpecifications.hasMembershipStatus(status))
+                .and(UserSpecifications.matchesPrefix(prefix))
+                .and(UserSpecifications.idAfter(afterId));
+
+        // One extra row tells whether there is a next page
+        List<UserView> users = userRepository.findViews(spec, pageSize + 1);
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users = new ArrayList<>(users.subList(0, pageSize));
+            nextCursor = String.valueOf(users.get(pageSize - 1).getId());
+        }
+        return new KeysetPage<>(users, nextCursor);
+    }
     
     
     public void addToWishlist(Long userId, Long serviceId) {
@@ -166,6 +231,7 @@ public class UserService {
     /**
      * Feature 15: View Wishlist (now returns List<ServiceView>)
      */
+    @Transactional(readOnly = true)
     public List<ServiceView> getWishlist(Long userId) {
         User user = getUserById(userId);
         List<ServiceView> serviceViews = new ArrayList<>();
@@ -194,7 +260,7 @@ public class UserService {
     public UserView mapToUserView(User user) {
         String membershipName = (user.getMembership() != null) ? user.getMembership().getName() : null;
         
-        return new UserView(
+        UserView view = new UserView(
                 user.getId(),
                 user.getEmail(),
                 user.getFirstName(),
@@ -204,5 +270,8 @@ public class UserService {
                 membershipName,
                 user.getMembershipStatus()
         );
+        view.setMembershipPeriodEnd(user.getMembershipPeriodEnd());
+        view.setMembershipAutoRenew(user.isMembershipAutoRenew());
+        return view;
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.BookingEvent;
+import com.example.spas.model.enums.BookingEventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offers a slot to its waitlist when a booking on it is cancelled or declined.
+ * Runs on the outbox dispatcher thread, never inside the user's request.
+ */
+@Component
+public class WaitlistPromotionHandler implements BookingEventHandler {
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistPromotionHandler(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @Override
+    public void handle(BookingEvent event) {
+        if (event.getType() == BookingEventType.BOOKING_CANCELLED
+                || event.getType() == BookingEventType.BOOKING_DECLINED) {
+            waitlistService.offerNext(event.getServiceId(), event.getBookingTime());
+        }
+    }
+}
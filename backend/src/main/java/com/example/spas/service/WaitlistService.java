@@ -0,0 +1,292 @@
+package com.example.spas.service;
+
+import com.example.spas.dto.WaitlistRequest;
+import com.example.spas.dto.WaitlistView;
+import com.example.spas.exception.ResourceNotFoundException;
+import com.example.spas.model.ReservationHold;
+import com.example.spas.model.User;
+import com.example.spas.model.WaitlistEntry;
+import com.example.spas.model.enums.ApprovalStatus;
+import com.example.spas.model.enums.ServiceStatus;
+import com.example.spas.model.enums.WaitlistStatus;
+import com.example.spas.repository.ReservationHoldRepository;
+import com.example.spas.repository.ServiceRepository;
+import com.example.spas.repository.UserRepository;
+import com.example.spas.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Feature 9 (waitlist): Users can queue for a full slot instead of polling
+ * availability. When a booking on the slot is cancelled or declined, the
+ * outbox delivers the event to WaitlistPromotionHandler, which offers the
+ * slot to the oldest WAITING entry as a reservation hold.
+ *
+ * Finding the head of a queue and a queue position are index seeks on
+ * (service_id, slot_time, status, id), so long queues stay cheap. A slot
+ * is also offered when a hold on it is released or expires (see
+ * ReservationHoldService), so a queue never waits on a slot that is free.
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistService.class);
+    private static final String LAPSE_LEASE_NAME = "waitlist-lapse";
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ReservationHoldService reservationHoldService;
+    private final ReservationHoldRepository reservationHoldRepository;
+    private final SlotCapacityService slotCapacityService;
+    private final SpaScheduleService spaScheduleService;
+    private final ServiceRepository serviceRepository;
+    private final UserRepository userRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer lapseTimer;
+    private final Duration offerTtl;
+    private final Duration lapseLease;
+
+    public WaitlistService(
+        WaitlistEntryRepository waitlistEntryRepository,
+        ReservationHoldService reservationHoldService,
+        ReservationHoldRepository reservationHoldRepository,
+        SlotCapacityService slotCapacityService,
+        SpaScheduleService spaScheduleService,
+        ServiceRepository serviceRepository,
+        UserRepository userRepository,
+        SchedulerLeaseService schedulerLeaseService,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${app.waitlist.offer-ttl:15m}") Duration offerTtl,
+        @Value("${app.waitlist.lapse-lease:1m}") Duration lapseLease
+    ) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.reservationHoldService = reservationHoldService;
+        this.reservationHoldRepository = reservationHoldRepository;
+        this.slotCapacityService = slotCapacityService;
+        this.spaScheduleService = spaScheduleService;
+        this.serviceRepository = serviceRepository;
+        this.userRepository = userRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.offerTtl = offerTtl;
+        this.lapseLease = lapseLease;
+        this.lapseTimer = Timer.builder("spas.jobs.duration")
+                .description("Run time of scheduled jobs")
+                .tag("job", LAPSE_LEASE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Joins the waitlist for a full slot.
+     * Edge Case: A free slot should simply be booked, so joining is refused.
+     * Edge Case: Only start times availability offers can be waited for.
+     * Edge Case: Re-joining after leaving or a lapsed offer goes to the back.
+     */
+    @Transactional
+    public WaitlistView joinWaitlist(WaitlistRequest request, Long customerId) {
+        User customer = userRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + customerId));
+        com.example.spas.model.Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + request.getServiceId()));
+
+        // --- EDGE CASE LOGIC (Business Rules) ---
+        if (service.getApprovalStatus() != ApprovalStatus.APPROVED
+                || service.getServiceStatus() != ServiceStatus.AVAILABLE) {
+            throw new IllegalStateException("This service is not available for booking.");
+        }
+        spaScheduleService.requireOpen(service, request.getSlotTime());
+        if (slotCapacityService.freeCapacity(service, request.getSlotTime()) > 0) {
+            throw new IllegalStateException("This time slot is available. Please book it directly.");
+        }
+
+        Optional<WaitlistEntry> existing = waitlistEntryRepository
+                .findByServiceIdAndSlotTimeAndCustomerId(service.getId(), request.getSlotTime(), customerId);
+        if (existing.isPresent()) {
+            WaitlistStatus status = existing.get().getStatus();
+            if (status == WaitlistStatus.WAITING || status == WaitlistStatus.OFFERED) {
+                throw new IllegalStateException("You are already on the waitlist for this slot.");
+            }
+            waitlistEntryRepository.delete(existing.get());
+            waitlistEntryRepository.flush();
+        }
+        // --- END EDGE CASE ---
+
+        WaitlistEntry entry = waitlistEntryRepository.save(
+                new WaitlistEntry(request.getSlotTime(), service, customer));
+        meterRegistry.counter("spas.waitlist", "event", "joined").increment();
+        return mapToWaitlistView(entry);
+    }
+
+    /**
+     * The user's waitlist entries, newest first, with queue positions.
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistView> getMyWaitlist(Long customerId) {
+        List<WaitlistView> views = new ArrayList<>();
+        for (WaitlistEntry entry : waitlistEntryRepository.findAllByCustomerIdOrderByIdDesc(customerId)) {
+            views.add(mapToWaitlistView(entry));
+        }
+        return views;
+    }
+
+    /**
+     * Leaves the waitlist. An open offer is released and passed on.
+     */
+    @Transactional
+    public void leaveWaitlist(Long entryId, Long customerId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with id: " + entryId));
+
+        // Ownership check
+        if (!entry.getCustomer().getId().equals(customerId)) {
+            throw new IllegalStateException("You do not have permission to change this waitlist entry.");
+        }
+        WaitlistStatus previous = entry.getStatus();
+        if (previous != WaitlistStatus.WAITING && previous != WaitlistStatus.OFFERED) {
+            throw new IllegalStateException("This waitlist entry is no longer active (Status: " + previous + ").");
+        }
+
+        entry.setStatus(WaitlistStatus.LEFT);
+        if (previous == WaitlistStatus.OFFERED) {
+            releaseOfferedHold(entry);
+            offerNextInTransaction(entry.getService().getId(), entry.getSlotTime());
+        }
+        meterRegistry.counter("spas.waitlist", "event", "left").increment();
+    }
+
+    /**
+     * Offers a freed slot to the waiting users in line, one per free unit.
+     * Edge Case: Safe to call twice for the same event (at-least-once
+     * delivery): open offers hold their units, so nothing is left to offer.
+     */
+    @Transactional
+    public void offerNext(Long serviceId, LocalDateTime slotTime) {
+        offerNextInTransaction(serviceId, slotTime);
+    }
+
+    /**
+     * Called by createBooking: the customer's own entry for the slot is done.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markBooked(Long serviceId, LocalDateTime slotTime, Long customerId) {
+        waitlistEntryRepository.markBooked(serviceId, slotTime, customerId, WaitlistStatus.BOOKED,
+                EnumSet.of(WaitlistStatus.WAITING, WaitlistStatus.OFFERED));
+    }
+
+    /**
+     * Called by createSeries: same as markBooked, for every slot of the series.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markAllBooked(Long serviceId, Collection<LocalDateTime> slotTimes, Long customerId) {
+        waitlistEntryRepository.markAllBooked(serviceId, slotTimes, customerId, WaitlistStatus.BOOKED,
+                EnumSet.of(WaitlistStatus.WAITING, WaitlistStatus.OFFERED));
+    }
+
+    /**
+     * Offers that ran out without a booking lapse, and the slot goes to the
+     * next user in line. Only one instance runs it at a time.
+     */
+    @Scheduled(fixedDelayString = "${app.waitlist.lapse-check-interval-ms:30000}")
+    public void lapseExpiredOffers() {
+        if (!schedulerLeaseService.tryAcquire(LAPSE_LEASE_NAME, lapseLease)) {
+            return; // Another instance is on it
+        }
+        try {
+            lapseTimer.record(this::lapseOffers);
+        } finally {
+            schedulerLeaseService.release(LAPSE_LEASE_NAME);
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private void lapseOffers() {
+        List<WaitlistEntry> expired = waitlistEntryRepository
+                .findAllByStatusAndOfferExpiresAtBefore(WaitlistStatus.OFFERED, LocalDateTime.now());
+        for (WaitlistEntry stale : expired) {
+            transactionTemplate.executeWithoutResult(status -> {
+                WaitlistEntry entry = waitlistEntryRepository.findById(stale.getId()).orElse(null);
+                // Booked or left in the meantime
+                if (entry == null || entry.getStatus() != WaitlistStatus.OFFERED) {
+                    return;
+                }
+                entry.setStatus(WaitlistStatus.LAPSED);
+                meterRegistry.counter("spas.waitlist", "event", "lapsed").increment();
+                offerNextInTransaction(stale.getService().getId(), stale.getSlotTime());
+            });
+        }
+    }
+
+    private void offerNextInTransaction(Long serviceId, LocalDateTime slotTime) {
+        if (!slotTime.isAfter(LocalDateTime.now())) {
+            return; // Slot is in the past
+        }
+
+        // Other offers may be open already: every unit they leave free goes
+        // to the next one in line, until the slot is full again
+        while (true) {
+            Optional<WaitlistEntry> next = waitlistEntryRepository
+                    .findFirstByServiceIdAndSlotTimeAndStatusOrderByIdAsc(serviceId, slotTime, WaitlistStatus.WAITING);
+            if (next.isEmpty()) {
+                return;
+            }
+            WaitlistEntry entry = next.get();
+            Optional<ReservationHold> hold = reservationHoldService.offerHold(
+                    entry.getService(), entry.getCustomer(), slotTime, offerTtl);
+            if (hold.isEmpty()) {
+                return; // Booked or held up again
+            }
+
+            entry.setStatus(WaitlistStatus.OFFERED);
+            entry.setHoldId(hold.get().getId());
+            entry.setOfferExpiresAt(hold.get().getExpiresAt());
+            meterRegistry.counter("spas.waitlist", "event", "offered").increment();
+            // Stand-in for the email/SMS telling the user to book
+            logger.info("Offered service {} at {} to customer {} until {} (waitlist entry {})",
+                    serviceId, slotTime, entry.getCustomer().getId(), entry.getOfferExpiresAt(), entry.getId());
+        }
+    }
+
+    private void releaseOfferedHold(WaitlistEntry entry) {
+        if (entry.getHoldId() != null) {
+            reservationHoldRepository.findById(entry.getHoldId()).ifPresent(reservationHoldRepository::delete);
+        }
+    }
+
+    private WaitlistView mapToWaitlistView(WaitlistEntry entry) {
+        Long position = null;
+        if (entry.getStatus() == WaitlistStatus.WAITING) {
+            position = waitlistEntryRepository.countByServiceIdAndSlotTimeAndStatusAndIdLessThan(
+                    entry.getService().getId(), entry.getSlotTime(), WaitlistStatus.WAITING, entry.getId());
+        }
+        boolean offered = entry.getStatus() == WaitlistStatus.OFFERED;
+        return new WaitlistView(
+                entry.getId(),
+                entry.getService().getId(),
+                entry.getSlotTime(),
+                entry.getStatus(),
+                position,
+                offered ? entry.getHoldId() : null,
+                offered ? entry.getOfferExpiresAt() : null
+        );
+    }
+}
@@ -0,0 +1,14 @@
+-- ============================================================================
+-- V10__Add_bookings_customer_time_index.sql
+-- createBooking rejects bookings that overlap the customer's own active
+-- bookings. The check is a range query on (customer_user_id, booking_time);
+-- this index answers it with one seek, and its leading column also serves
+-- the existing "my bookings" lookups, so the single-column index goes.
+-- ============================================================================
+
+CREATE INDEX idx_bookings_customer_user_id_booking_time ON bookings(customer_user_id, booking_time);
+DROP INDEX idx_bookings_customer_user_id;
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
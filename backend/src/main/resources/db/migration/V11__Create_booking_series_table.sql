@@ -0,0 +1,31 @@
+-- ============================================================================
+-- V11__Create_booking_series_table.sql
+-- Recurring bookings: a customer books the same service every week or every
+-- other week in one request. Each occurrence is an ordinary booking row
+-- pointing at its series; the series row records what was asked for.
+-- ============================================================================
+
+CREATE TABLE booking_series (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    frequency VARCHAR(20) NOT NULL,     -- Enum: WEEKLY, BIWEEKLY
+    occurrences INT NOT NULL,
+    first_booking_time TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    customer_user_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+
+    FOREIGN KEY (customer_user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (service_id) REFERENCES services(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_booking_series_customer_user_id ON booking_series(customer_user_id);
+
+-- NULL for bookings made one at a time
+ALTER TABLE bookings ADD COLUMN series_id BIGINT;
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_series
+    FOREIGN KEY (series_id) REFERENCES booking_series(id) ON DELETE SET NULL;
+CREATE INDEX idx_bookings_series_id ON bookings(series_id);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
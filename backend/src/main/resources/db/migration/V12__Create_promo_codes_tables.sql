@@ -0,0 +1,44 @@
+-- ============================================================================
+-- V12__Create_promo_codes_tables.sql
+-- Limited-use promotion codes applied when booking. The limit is enforced
+-- on "reserved": each instance claims redemption permits in blocks with a
+-- conditional UPDATE (reserved + n <= max_redemptions) and hands them out
+-- from memory, so concurrent redemptions do not queue on this row.
+-- "redeemed" is the reconciled count of promo_redemptions.
+-- ============================================================================
+
+CREATE TABLE promo_codes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    code VARCHAR(40) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    discount_percentage DOUBLE NOT NULL,
+    max_redemptions INT NOT NULL,
+    reserved INT DEFAULT 0 NOT NULL,     -- Permits claimed by instances (>= redemptions)
+    redeemed INT DEFAULT 0 NOT NULL,     -- Redemptions, as of the last reconciliation
+    valid_from TIMESTAMP,                -- NULL = no start date
+    valid_until TIMESTAMP,               -- NULL = no end date
+    active BOOLEAN DEFAULT TRUE NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT ck_promo_codes_reserved CHECK (reserved <= max_redemptions)
+);
+
+CREATE TABLE promo_redemptions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    promo_code_id BIGINT NOT NULL,
+    customer_user_id BIGINT NOT NULL,
+    booking_id BIGINT,                   -- NULL once the booking is archived
+    redeemed_at TIMESTAMP NOT NULL,
+
+    FOREIGN KEY (promo_code_id) REFERENCES promo_codes(id) ON DELETE CASCADE,
+    FOREIGN KEY (customer_user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE SET NULL,
+    -- Each customer can use a code once
+    CONSTRAINT uk_promo_redemptions_code_customer UNIQUE (promo_code_id, customer_user_id)
+);
+
+CREATE INDEX idx_promo_redemptions_booking_id ON promo_redemptions(booking_id);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
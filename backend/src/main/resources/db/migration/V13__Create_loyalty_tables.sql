@@ -0,0 +1,36 @@
+-- ============================================================================
+-- V13__Create_loyalty_tables.sql
+-- Loyalty points: an append-only ledger (one accrual per confirmed booking)
+-- and per-customer balance snapshots. A balance is its snapshot plus the
+-- ledger entries after snapshot_entry_id, so reads only touch the few
+-- entries since the last snapshot run.
+-- ============================================================================
+
+CREATE TABLE loyalty_ledger (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_user_id BIGINT NOT NULL,
+    booking_id BIGINT,                  -- The booking that earned the points (kept after archiving)
+    points INT NOT NULL,
+    reason VARCHAR(30) NOT NULL,        -- Enum: BOOKING_CONFIRMED
+    created_at TIMESTAMP NOT NULL,
+
+    FOREIGN KEY (customer_user_id) REFERENCES users(id) ON DELETE CASCADE,
+    -- A booking earns points once, however often its event is delivered
+    CONSTRAINT uk_loyalty_ledger_booking_reason UNIQUE (booking_id, reason)
+);
+
+-- Entries of a customer after their snapshot
+CREATE INDEX idx_loyalty_ledger_customer_id ON loyalty_ledger(customer_user_id, id);
+
+CREATE TABLE loyalty_balances (
+    customer_user_id BIGINT PRIMARY KEY,
+    balance BIGINT NOT NULL,
+    snapshot_entry_id BIGINT NOT NULL,  -- Last ledger entry included in balance
+    updated_at TIMESTAMP NOT NULL,
+
+    FOREIGN KEY (customer_user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
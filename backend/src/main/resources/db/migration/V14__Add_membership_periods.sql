@@ -0,0 +1,24 @@
+-- ============================================================================
+-- V14__Add_membership_periods.sql
+-- Membership billing periods: a subscription runs from its start to the end
+-- of the current period. The nightly MembershipRenewalJob renews members
+-- with auto-renew on for another period and expires the others.
+-- ============================================================================
+
+ALTER TABLE users ADD COLUMN membership_started_at TIMESTAMP;   -- Start of the current period
+ALTER TABLE users ADD COLUMN membership_period_end TIMESTAMP;
+ALTER TABLE users ADD COLUMN membership_auto_renew BOOLEAN DEFAULT TRUE NOT NULL;
+
+-- Existing members start their first period now
+UPDATE users
+SET membership_started_at = CURRENT_TIMESTAMP,
+    membership_period_end = DATEADD(MONTH, 1, CURRENT_TIMESTAMP)
+WHERE membership_status = 'ACTIVE';
+
+-- The renewal job walks active members in (period end, id) order from the
+-- oldest end up to now, so it only reads the members that are due
+CREATE INDEX idx_users_membership_due ON users(membership_status, membership_period_end, id);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
@@ -0,0 +1,12 @@
+-- ============================================================================
+-- V15__Add_users_role_index.sql
+-- Admin user search (GET /admin/users/search) pages through users in id
+-- order, almost always filtered by role; this index serves those pages
+-- without reading the other roles' rows.
+-- ============================================================================
+
+CREATE INDEX idx_users_role_id ON users(role, id);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
@@ -0,0 +1,13 @@
+-- ============================================================================
+-- V16__Add_bookings_spa_time_index.sql
+-- The admin booking explorer lists a spa's bookings in (booking_time, id)
+-- order, page by page. This index answers each page with one range seek
+-- instead of sorting all of the spa's bookings. (idx_bookings_spa_id stays:
+-- H2 uses it for the spa foreign key.)
+-- ============================================================================
+
+CREATE INDEX idx_bookings_spa_id_booking_time ON bookings(spa_id, booking_time, id);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
@@ -0,0 +1,44 @@
+-- ============================================================================
+-- V17__Count_capacity_per_quarter_hour.sql
+-- slot_allocations counters were kept per booking start time, so a 90-minute
+-- booking at 10:00 did not count against a booking at 11:00. Counters are
+-- now kept per 15-minute unit: a booking takes one unit of every quarter
+-- hour in [start, start + duration).
+-- ============================================================================
+
+-- Every 15-minute unit covered by an active (PENDING/CONFIRMED) booking.
+-- Starts off the quarter-hour grid are rounded down; services without a
+-- duration count as 60 minutes (SpaScheduleService.DEFAULT_DURATION_MINUTES).
+-- Bookings never run past midnight, so 96 units per booking are enough.
+CREATE VIEW active_booking_units AS
+SELECT u.booking_id, u.service_id, u.spa_id, u.unit_time
+FROM (
+    SELECT b.id AS booking_id, b.service_id, b.spa_id,
+           DATEADD('MINUTE', r.X * 15,
+                   DATEADD('MINUTE', -MOD(EXTRACT(MINUTE FROM b.booking_time), 15),
+                           DATE_TRUNC('MINUTE', b.booking_time))) AS unit_time,
+           DATEADD('MINUTE', CASE WHEN s.duration_in_minutes > 0 THEN s.duration_in_minutes ELSE 60 END,
+                   b.booking_time) AS end_time
+    FROM bookings b
+    JOIN services s ON s.id = b.service_id
+    CROSS JOIN SYSTEM_RANGE(0, 95) r
+    WHERE b.status IN ('PENDING', 'CONFIRMED')
+) u
+WHERE u.unit_time < u.end_time;
+
+-- Rebuild the counters per unit
+DELETE FROM slot_allocations;
+
+INSERT INTO slot_allocations (scope, owner_id, slot_time, booked)
+SELECT 'SERVICE', service_id, unit_time, COUNT(*)
+FROM active_booking_units
+GROUP BY service_id, unit_time;
+
+INSERT INTO slot_allocations (scope, owner_id, slot_time, booked)
+SELECT 'SPA', spa_id, unit_time, COUNT(*)
+FROM active_booking_units
+GROUP BY spa_id, unit_time;
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
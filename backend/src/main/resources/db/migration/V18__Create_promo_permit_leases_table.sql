@@ -0,0 +1,24 @@
+-- ============================================================================
+-- V18__Create_promo_permit_leases_table.sql
+-- promo_codes.reserved counts the permits instances have claimed. Permits
+-- held in memory by an instance that crashed were never given back, so
+-- reserved only ever grew. Each instance now records the permits it holds
+-- per code in a lease it renews; reconciliation recomputes reserved as the
+-- redemptions plus the permits of unexpired leases.
+-- ============================================================================
+
+CREATE TABLE promo_permit_leases (
+    instance_id VARCHAR(255) NOT NULL,   -- SchedulerLeaseService owner name
+    promo_code_id BIGINT NOT NULL,
+    permits INT NOT NULL,                -- Claimed, not yet redeemed or given back
+    expires_at TIMESTAMP NOT NULL,       -- Permits are free again after this time
+
+    PRIMARY KEY (instance_id, promo_code_id),
+    FOREIGN KEY (promo_code_id) REFERENCES promo_codes(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_promo_permit_leases_code_expires ON promo_permit_leases(promo_code_id, expires_at);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
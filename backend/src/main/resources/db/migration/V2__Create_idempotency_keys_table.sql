@@ -0,0 +1,27 @@
+-- ============================================================================
+-- V2__Create_idempotency_keys_table.sql
+-- Durable record of Idempotency-Key headers used on POST /user/bookings.
+-- A retried request with the same key returns the booking created the first
+-- time instead of creating a duplicate.
+-- ============================================================================
+
+CREATE TABLE idempotency_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_fingerprint VARCHAR(255) NOT NULL, -- serviceId|bookingTime of the original request
+    created_at TIMESTAMP NOT NULL,
+    customer_user_id BIGINT NOT NULL,
+    booking_id BIGINT NOT NULL,
+
+    -- Keys are scoped per customer
+    CONSTRAINT uk_idempotency_keys_customer_key UNIQUE (customer_user_id, idempotency_key),
+    FOREIGN KEY (customer_user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE CASCADE
+);
+
+-- Used by the retention purge
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys(created_at);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
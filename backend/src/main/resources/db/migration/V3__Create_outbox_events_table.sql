@@ -0,0 +1,25 @@
+-- ============================================================================
+-- V3__Create_outbox_events_table.sql
+-- Transactional outbox for booking lifecycle events. Rows are written in the
+-- same transaction as the booking change and delivered later, in batches,
+-- by the background OutboxDispatcher (at-least-once).
+-- ============================================================================
+
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,        -- BOOKING_CREATED, BOOKING_CANCELLED, ...
+    aggregate_id BIGINT NOT NULL,           -- The booking the event is about
+    payload VARCHAR(4000) NOT NULL,         -- BookingEvent as JSON
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,        -- Delivery attempts so far (also the claim version)
+    next_attempt_at TIMESTAMP NOT NULL,     -- Not picked up before this time (backoff / claim lease)
+    processed_at TIMESTAMP,                 -- NULL while pending
+    last_error VARCHAR(1000)
+);
+
+-- The dispatcher polls pending rows that are due
+CREATE INDEX idx_outbox_events_pending ON outbox_events(processed_at, next_attempt_at);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
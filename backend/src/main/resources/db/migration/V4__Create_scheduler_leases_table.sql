@@ -0,0 +1,19 @@
+-- ============================================================================
+-- V4__Create_scheduler_leases_table.sql
+-- Lightweight leases so a scheduled job runs on only one app instance at a
+-- time, plus the index used by the PENDING booking expiry job.
+-- ============================================================================
+
+CREATE TABLE scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,     -- The job, e.g. 'booking-expiry'
+    owner VARCHAR(255) NOT NULL,       -- Instance currently holding the lease
+    locked_until TIMESTAMP NOT NULL    -- Lease is free again after this time
+);
+
+-- Past-due PENDING bookings are found by (status, booking_time).
+-- Status is now also EXPIRED for bookings still pending when their time passed.
+CREATE INDEX idx_bookings_status_booking_time ON bookings(status, booking_time);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
@@ -0,0 +1,30 @@
+-- ============================================================================
+-- V5__Create_bookings_archive_table.sql
+-- Cold tier for finished bookings. BookingArchiveJob moves bookings that are
+-- no longer PENDING and older than the archive horizon out of the hot
+-- "bookings" table, keeping their original ids.
+-- ============================================================================
+
+CREATE TABLE bookings_archive (
+    id BIGINT PRIMARY KEY,              -- Same id the booking had in "bookings"
+    booking_time TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL,        -- Enum: CONFIRMED, CANCELLED_BY_USER, DECLINED_BY_CLIENT, EXPIRED
+    final_price DOUBLE NOT NULL,
+    customer_user_id BIGINT NOT NULL,
+    spa_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+
+    FOREIGN KEY (customer_user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (spa_id) REFERENCES spas(id) ON DELETE CASCADE,
+    FOREIGN KEY (service_id) REFERENCES services(id) ON DELETE CASCADE
+);
+
+-- History lookups ("my bookings" with history, review eligibility)
+CREATE INDEX idx_bookings_archive_customer_spa ON bookings_archive(customer_user_id, spa_id);
+-- Time-range scans over the archive
+CREATE INDEX idx_bookings_archive_booking_time ON bookings_archive(booking_time);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
@@ -0,0 +1,28 @@
+-- ============================================================================
+-- V6__Create_reservation_holds_table.sql
+-- Short-lived holds on a (service, slot time) during checkout. A hold past
+-- its expires_at is ignored by every query, so expired rows left behind by a
+-- crash are harmless until the cleanup deletes them.
+-- ============================================================================
+
+CREATE TABLE reservation_holds (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    slot_time TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    service_id BIGINT NOT NULL,
+    customer_user_id BIGINT NOT NULL,
+
+    -- At most one hold row per slot (expired rows are deleted before re-holding)
+    CONSTRAINT uk_reservation_holds_service_slot UNIQUE (service_id, slot_time),
+    FOREIGN KEY (service_id) REFERENCES services(id) ON DELETE CASCADE,
+    FOREIGN KEY (customer_user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Per-customer hold limit and the expiry cleanup
+CREATE INDEX idx_reservation_holds_customer_user_id ON reservation_holds(customer_user_id);
+CREATE INDEX idx_reservation_holds_expires_at ON reservation_holds(expires_at);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
@@ -0,0 +1,32 @@
+-- ============================================================================
+-- V7__Create_waitlist_entries_table.sql
+-- Per-(service, slot) waitlist. When a booking on a slot is cancelled or
+-- declined, the oldest WAITING entry is offered the slot as a reservation hold.
+-- ============================================================================
+
+CREATE TABLE waitlist_entries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,   -- Also the queue order
+    slot_time TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL,            -- Enum: WAITING, OFFERED, BOOKED, LAPSED, LEFT
+    created_at TIMESTAMP NOT NULL,
+    offer_expires_at TIMESTAMP,             -- Set while OFFERED
+    hold_id BIGINT,                         -- The reservation hold offered (no FK: holds are short-lived)
+    service_id BIGINT NOT NULL,
+    customer_user_id BIGINT NOT NULL,
+
+    -- One entry per customer and slot
+    CONSTRAINT uk_waitlist_entries_slot_customer UNIQUE (service_id, slot_time, customer_user_id),
+    FOREIGN KEY (service_id) REFERENCES services(id) ON DELETE CASCADE,
+    FOREIGN KEY (customer_user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Head of a slot's queue and queue positions: an index seek, however long the queue
+CREATE INDEX idx_waitlist_entries_slot_queue ON waitlist_entries(service_id, slot_time, status, id);
+-- "My waitlist"
+CREATE INDEX idx_waitlist_entries_customer_user_id ON waitlist_entries(customer_user_id);
+-- Lapsed offers
+CREATE INDEX idx_waitlist_entries_status_offer_expires_at ON waitlist_entries(status, offer_expires_at);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
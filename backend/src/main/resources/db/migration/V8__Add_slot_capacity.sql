@@ -0,0 +1,45 @@
+-- ============================================================================
+-- V8__Add_slot_capacity.sql
+-- Capacity model: a service can take several bookings per slot (rooms or
+-- therapists suited to it), and all services of a spa together are limited
+-- by the spa's resources. slot_allocations keeps one counter per
+-- (scope, owner, slot), raised with a conditional UPDATE so capacity checks
+-- are atomic without locking the bookings table.
+-- ============================================================================
+
+-- Concurrent bookings a service can take in one slot
+ALTER TABLE services ADD COLUMN capacity INT DEFAULT 1 NOT NULL;
+-- Therapists/rooms a spa has, shared by all its services in one slot
+-- (NULL = no spa-wide limit, each service is only limited by its own capacity)
+ALTER TABLE spas ADD COLUMN resource_count INT;
+
+CREATE TABLE slot_allocations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    scope VARCHAR(20) NOT NULL,     -- Enum: SERVICE (owner_id = service id), SPA (owner_id = spa id)
+    owner_id BIGINT NOT NULL,
+    slot_time TIMESTAMP NOT NULL,
+    booked INT NOT NULL,            -- Active (PENDING/CONFIRMED) bookings in this slot
+
+    CONSTRAINT uk_slot_allocations_scope_owner_slot UNIQUE (scope, owner_id, slot_time)
+);
+
+-- Backfill counters from the current active bookings
+INSERT INTO slot_allocations (scope, owner_id, slot_time, booked)
+SELECT 'SERVICE', service_id, booking_time, COUNT(*)
+FROM bookings WHERE status IN ('PENDING', 'CONFIRMED')
+GROUP BY service_id, booking_time;
+
+INSERT INTO slot_allocations (scope, owner_id, slot_time, booked)
+SELECT 'SPA', spa_id, booking_time, COUNT(*)
+FROM bookings WHERE status IN ('PENDING', 'CONFIRMED')
+GROUP BY spa_id, booking_time;
+
+-- Several customers may now hold the same slot (up to its free capacity),
+-- but each customer only once
+ALTER TABLE reservation_holds DROP CONSTRAINT uk_reservation_holds_service_slot;
+ALTER TABLE reservation_holds ADD CONSTRAINT uk_reservation_holds_service_slot_customer
+    UNIQUE (service_id, slot_time, customer_user_id);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
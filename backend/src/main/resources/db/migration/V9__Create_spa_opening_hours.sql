@@ -0,0 +1,33 @@
+-- ============================================================================
+-- V9__Create_spa_opening_hours.sql
+-- Per-spa weekly opening hours and per-date exceptions (holidays, closures,
+-- special hours). A spa without weekly rows keeps the old fixed hours,
+-- 09:00-18:00 every day.
+-- ============================================================================
+
+CREATE TABLE spa_opening_hours (
+    spa_id BIGINT NOT NULL,
+    day_of_week VARCHAR(10) NOT NULL,   -- Enum: MONDAY .. SUNDAY
+    opens_at TIME NOT NULL,
+    closes_at TIME NOT NULL,            -- Several periods per day are allowed (e.g. a lunch break)
+
+    FOREIGN KEY (spa_id) REFERENCES spas(id) ON DELETE CASCADE
+);
+
+CREATE TABLE spa_schedule_exceptions (
+    spa_id BIGINT NOT NULL,
+    exception_date DATE NOT NULL,
+    opens_at TIME,                      -- Both NULL = closed all day
+    closes_at TIME,
+    reason VARCHAR(255),
+
+    -- One exception per spa and date
+    CONSTRAINT uk_spa_schedule_exceptions_spa_date UNIQUE (spa_id, exception_date),
+    FOREIGN KEY (spa_id) REFERENCES spas(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_spa_opening_hours_spa_id ON spa_opening_hours(spa_id);
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
@@ -0,0 +1,107 @@
+package com.example.spas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.spas.dto.BookingRequest;
+import com.example.spas.dto.RecurringBookingRequest;
+import com.example.spas.model.User;
+import com.example.spas.model.enums.RecurrenceFrequency;
+import com.example.spas.model.enums.Role;
+import com.example.spas.repository.ServiceRepository;
+import com.example.spas.repository.UserRepository;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Recurring series and single bookings racing for the same slots must
+ * never book a slot past the service's capacity, and racing retries of one
+ * keyed booking must all get that booking back.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class BookingServiceConcurrencyTest {
+
+    private static final long SERVICE_ID = 1L;
+    private static final int OCCURRENCES = 4;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentSeriesNeverOverbook() throws Exception {
+        LocalDateTime first = LocalDate.now().plusDays(50).atTime(14, 0);
+        List<LocalDateTime> slots = new ArrayList<>();
+        for (int i = 0; i < OCCURRENCES; i++) {
+            slots.add(first.plusWeeks(i));
+        }
+        int capacity = serviceRepository.findById(SERVICE_ID).orElseThrow().getCapacity();
+        List<Long> customerIds = userRepository.findAll().stream()
+                .filter(user -> user.getRole() == Role.USER)
+                .map(User::getId)
+                .toList();
+        assertTrue(customerIds.size() > capacity, "need more customers than the slot's capacity");
+
+        // Half book the whole series, the others single slots of it
+        int succeeded = ConcurrentCalls.run(customerIds, customerId -> {
+            if (customerId % 2 == 0) {
+                bookingService.createSeries(new RecurringBookingRequest(
+                        SERVICE_ID, first, RecurrenceFrequency.WEEKLY, OCCURRENCES), customerId);
+            } else {
+                LocalDateTime slot = slots.get((int) (customerId % OCCURRENCES));
+                bookingService.createBooking(new BookingRequest(SERVICE_ID, slot), customerId);
+            }
+        });
+
+        assertTrue(succeeded > 0, "some bookings must go through");
+        for (LocalDateTime slot : slots) {
+            assertTrue(activeBookings(slot) <= capacity, "slot " + slot + " is overbooked");
+            assertEquals(activeBookings(slot), bookedCounter(slot), "counter of " + slot + " is off");
+        }
+    }
+
+    @Test
+    void concurrentRetriesReplayTheFirstBooking() throws Exception {
+        LocalDateTime slot = LocalDate.now().plusDays(64).atTime(16, 0);
+        Long customerId = 8L;
+        BookingRequest request = new BookingRequest(SERVICE_ID, slot);
+
+        // Same customer and key on every thread, as from several app instances
+        int succeeded = ConcurrentCalls.run(Collections.nCopies(4, customerId), id ->
+                bookingService.createBooking(request, id, "retry-" + slot));
+
+        assertEquals(4, succeeded, "every retry must replay, not fail");
+        assertEquals(1, activeBookings(slot));
+    }
+
+    // --- Helper Methods ---
+
+    private int activeBookings(LocalDateTime slot) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE service_id = ? AND booking_time = ? " +
+                "AND status IN ('PENDING', 'CONFIRMED')", Integer.class, SERVICE_ID, Timestamp.valueOf(slot));
+    }
+
+    private int bookedCounter(LocalDateTime slot) {
+        List<Integer> booked = jdbcTemplate.queryForList("SELECT booked FROM slot_allocations " +
+                "WHERE scope = 'SERVICE' AND owner_id = ? AND slot_time = ?", Integer.class, SERVICE_ID, Timestamp.valueOf(slot));
+        return booked.isEmpty() ? 0 : booked.get(0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.spas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs one call per customer on its own thread, all released at the same
+ * moment, for the concurrency tests.
+ */
+final class ConcurrentCalls {
+
+    interface CustomerCall {
+        void run(Long customerId);
+    }
+
+    private ConcurrentCalls() {
+    }
+
+    /**
+     * Returns how many calls succeeded. IllegalStateException (full slot,
+     * used-up code, ...) counts as an expected failure; anything else fails
+     * the test.
+     */
+    static int run(List<Long> customerIds, CustomerCall call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(customerIds.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Long customerId : customerIds) {
+                Callable<Boolean> task = () -> {
+                    start.await();
+                    try {
+                        call.run(customerId);
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                };
+                results.add(pool.submit(task));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    succeeded++;
+                }
+            }
+            return succeeded;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
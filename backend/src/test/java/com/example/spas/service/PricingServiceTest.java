@@ -0,0 +1,81 @@
+package com.example.spas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.spas.model.Service;
+import com.example.spas.model.User;
+import com.example.spas.repository.ServiceRepository;
+import com.example.spas.repository.UserRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A price change made through JPA is charged and quoted right away.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class PricingServiceTest {
+
+    private static final long SERVICE_ID = 1L;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void priceUpdateEvictsCachedPrice() {
+        // Without a membership the final price is the list price
+        User customer = userRepository.findByEmail("emily.brown@gmail.com").orElseThrow();
+        double oldPrice = finalPrice(customer);
+
+        setPrice(oldPrice + 10);
+        try {
+            assertEquals(oldPrice + 10, finalPrice(customer));
+        } finally {
+            setPrice(oldPrice);
+        }
+        assertEquals(oldPrice, finalPrice(customer));
+    }
+
+    @Test
+    void priceUpdateEvictsQuotedPrice() {
+        User customer = userRepository.findByEmail("emily.brown@gmail.com").orElseThrow();
+        double oldPrice = quotedPrice(customer);
+
+        setPrice(oldPrice + 5);
+        try {
+            assertEquals(oldPrice + 5, quotedPrice(customer));
+        } finally {
+            setPrice(oldPrice);
+        }
+        assertEquals(oldPrice, quotedPrice(customer));
+    }
+
+    private double quotedPrice(User customer) {
+        return pricingService.quote(List.of(SERVICE_ID), customer.getId()).get(0).getFinalPrice();
+    }
+
+    private double finalPrice(User customer) {
+        return transactionTemplate.execute(status ->
+                pricingService.finalPrice(customer, serviceRepository.findById(SERVICE_ID).orElseThrow()));
+    }
+
+    private void setPrice(double price) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Service service = serviceRepository.findById(SERVICE_ID).orElseThrow();
+            service.setPrice(price);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.spas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.spas.dto.BookingRequest;
+import com.example.spas.dto.PromoCodeCreateRequest;
+import com.example.spas.dto.PromoCodeView;
+import com.example.spas.model.User;
+import com.example.spas.model.enums.Role;
+import com.example.spas.repository.UserRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Permits of bookings that roll back go back to the pool: after a wave of
+ * rolled-back redemptions, a limited code still gives out exactly its
+ * maximum, and never more. Permits of an instance whose lease ran out are
+ * freed by reconcile.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class PromoCodeServiceConcurrencyTest {
+
+    private static final long SERVICE_ID = 1L;
+    private static final int MAX_REDEMPTIONS = 2;
+
+    @Autowired
+    private PromoCodeService promoCodeService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void rolledBackRedemptionsReturnTheirPermits() throws Exception {
+        PromoCodeView code = promoCodeService.createPromoCode(new PromoCodeCreateRequest(
+                "ROLLBACK" + System.nanoTime() % 100_000, "Concurrency test", 10.0, MAX_REDEMPTIONS, null, null));
+        LocalDate day = LocalDate.now().plusDays(61);
+        List<Long> customerIds = userRepository.findAll().stream()
+                .filter(user -> user.getRole() == Role.USER)
+                .map(User::getId)
+                .toList();
+
+        // Every booking claims a permit, then its transaction rolls back
+        int claimed = ConcurrentCalls.run(customerIds, customerId -> transactionTemplate.executeWithoutResult(status -> {
+            bookingService.createBooking(bookingRequest(day, customerId, code.getCode()), customerId);
+            status.setRollbackOnly();
+        }));
+        assertTrue(claimed >= MAX_REDEMPTIONS, "the rolled-back bookings must have claimed permits");
+        assertEquals(0, redemptions(code.getId()));
+
+        // Now for real: exactly the maximum goes through
+        int redeemed = ConcurrentCalls.run(customerIds, customerId ->
+                bookingService.createBooking(bookingRequest(day, customerId, code.getCode()), customerId));
+        assertEquals(MAX_REDEMPTIONS, redeemed);
+        assertEquals(MAX_REDEMPTIONS, redemptions(code.getId()));
+
+        // Nothing left over in the pool: the row holds exactly the used permits
+        promoCodeService.reconcile();
+        assertEquals(MAX_REDEMPTIONS, jdbcTemplate.queryForObject(
+                "SELECT reserved FROM promo_codes WHERE id = ?", Integer.class, code.getId()));
+        assertEquals(MAX_REDEMPTIONS, jdbcTemplate.queryForObject(
+                "SELECT redeemed FROM promo_codes WHERE id = ?", Integer.class, code.getId()));
+    }
+
+    @Test
+    void permitsOfAnExpiredLeaseAreFreedOnReconcile() {
+        PromoCodeView code = promoCodeService.createPromoCode(new PromoCodeCreateRequest(
+                "LEASE" + System.nanoTime() % 100_000, "Lease test", 10.0, 10, null, null));
+        LocalDateTime now = LocalDateTime.now();
+
+        // An instance that died holding 5 permits, and a live one holding 1
+        jdbcTemplate.update("UPDATE promo_codes SET reserved = reserved + 6 WHERE id = ?", code.getId());
+        jdbcTemplate.update("INSERT INTO promo_permit_leases (instance_id, promo_code_id, permits, expires_at) "
+                + "VALUES ('crashed', ?, 5, ?)", code.getId(), now.minusMinutes(1));
+        jdbcTemplate.update("INSERT INTO promo_permit_leases (instance_id, promo_code_id, permits, expires_at) "
+                + "VALUES ('live', ?, 1, ?)", code.getId(), now.plusMinutes(5));
+
+        promoCodeService.reconcile();
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT reserved FROM promo_codes WHERE id = ?", Integer.class, code.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM promo_permit_leases WHERE promo_code_id = ? AND instance_id = 'crashed'",
+                Integer.class, code.getId()));
+    }
+
+    // --- Helper Methods ---
+
+    // One slot per customer, so only the code is contended
+    private static BookingRequest bookingRequest(LocalDate day, Long customerId, String code) {
+        BookingRequest request = new BookingRequest(SERVICE_ID, day.atTime(10 + (int) (customerId % 8), 0));
+        request.setPromoCode(code);
+        return request;
+    }
+
+    private int redemptions(Long promoCodeId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM promo_redemptions WHERE promo_code_id = ?", Integer.class, promoCodeId);
+    }
+}
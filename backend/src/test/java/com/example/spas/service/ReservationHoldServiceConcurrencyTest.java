@@ -0,0 +1,72 @@
+package com.example.spas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.spas.dto.HoldRequest;
+import com.example.spas.model.Service;
+import com.example.spas.model.User;
+import com.example.spas.repository.ReservationHoldRepository;
+import com.example.spas.repository.ServiceRepository;
+import com.example.spas.repository.UserRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Many customers holding the last units of one slot at the same time must
+ * never end up with more active holds than the slot has capacity.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class ReservationHoldServiceConcurrencyTest {
+
+    private static final long SERVICE_ID = 1L;
+
+    @Autowired
+    private ReservationHoldService reservationHoldService;
+
+    @Autowired
+    private SlotCapacityService slotCapacityService;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void deleteHolds() {
+        reservationHoldRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentHoldsNeverExceedCapacity() throws Exception {
+        LocalDateTime slot = LocalDate.now().plusDays(40).atTime(11, 0);
+        long free = transactionTemplate.execute(status -> {
+            Service service = serviceRepository.findById(SERVICE_ID).orElseThrow();
+            return slotCapacityService.freeCapacity(service, slot);
+        });
+        List<Long> customerIds = userRepository.findAll().stream().map(User::getId).toList();
+        assertTrue(customerIds.size() > free, "need more customers than free units");
+
+        int held = ConcurrentCalls.run(customerIds, customerId ->
+                reservationHoldService.createHold(new HoldRequest(SERVICE_ID, slot), customerId));
+
+        long active = reservationHoldRepository.countActiveForSlot(SERVICE_ID, slot, LocalDateTime.now());
+        assertEquals(free, held);
+        assertEquals(free, active);
+    }
+}
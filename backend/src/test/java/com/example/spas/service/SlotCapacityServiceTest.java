@@ -0,0 +1,88 @@
+package com.example.spas.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.spas.dto.BookingRequest;
+import com.example.spas.dto.HoldRequest;
+import com.example.spas.model.Spa;
+import com.example.spas.repository.ReservationHoldRepository;
+import com.example.spas.repository.SpaRepository;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Capacity is counted per 15-minute unit of a treatment, and holds use up
+ * the spa's resources as well as the service's.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class SlotCapacityServiceTest {
+
+    // Seeded: Hot Stone Therapy, 90 minutes, capacity 1
+    private static final long LONG_SERVICE_ID = 4L;
+    // Seeded: Swedish Massage (capacity 2) and Hydrating Facial, both at spa 1
+    private static final long MASSAGE_ID = 1L;
+    private static final long FACIAL_ID = 2L;
+    private static final long SPA_ID = 1L;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ReservationHoldService reservationHoldService;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private SpaRepository spaRepository;
+
+    @AfterEach
+    void deleteHolds() {
+        reservationHoldRepository.deleteAll();
+    }
+
+    @Test
+    void bookingTakesEveryUnitOfItsDuration() {
+        // Spa 2 is closed on Sundays
+        LocalDateTime tenOClock = LocalDate.now().plusDays(62).with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(10, 0);
+        bookingService.createBooking(new BookingRequest(LONG_SERVICE_ID, tenOClock), 4L);
+
+        // 11:00 falls inside the 10:00-11:30 treatment
+        assertThrows(IllegalStateException.class, () ->
+                bookingService.createBooking(new BookingRequest(LONG_SERVICE_ID, tenOClock.plusHours(1)), 5L));
+        assertDoesNotThrow(() ->
+                bookingService.createBooking(new BookingRequest(LONG_SERVICE_ID, tenOClock.plusHours(2)), 6L));
+    }
+
+    @Test
+    void holdsUseUpTheSpaResources() {
+        LocalDateTime slot = LocalDate.now().plusDays(63).atTime(15, 0);
+        Spa spa = spaRepository.findById(SPA_ID).orElseThrow();
+        Integer resourceCount = spa.getResourceCount();
+        spa.setResourceCount(2);
+        spaRepository.save(spa);
+        try {
+            reservationHoldService.createHold(new HoldRequest(MASSAGE_ID, slot), 4L);
+            bookingService.createBooking(new BookingRequest(MASSAGE_ID, slot), 5L);
+
+            // One resource booked and one held: the spa is full for others
+            assertThrows(IllegalStateException.class, () ->
+                    bookingService.createBooking(new BookingRequest(FACIAL_ID, slot), 6L));
+            // ...but not for the customer holding it
+            assertDoesNotThrow(() -> bookingService.createBooking(new BookingRequest(MASSAGE_ID, slot), 4L));
+        } finally {
+            spa = spaRepository.findById(SPA_ID).orElseThrow();
+            spa.setResourceCount(resourceCount);
+            spaRepository.save(spa);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.spas.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Bookings are only accepted at the start times availability offers.
+ */
+class SpaScheduleTest {
+
+    // Default hours, 09:00-18:00 every day
+    private final SpaSchedule schedule = SpaSchedule.compile(List.of(), List.of());
+    private final LocalDate day = LocalDate.of(2030, 1, 7);
+
+    @Test
+    void onlyOfferedStartTimesAreOpen() {
+        List<LocalTime> offered = schedule.startTimes(day, 60);
+        for (int minute = 0; minute < 24 * 60; minute += SpaSchedule.MINUTES_PER_UNIT) {
+            LocalTime time = LocalTime.MIDNIGHT.plusMinutes(minute);
+            boolean open = schedule.isOpen(day.atTime(time), 60);
+            assertTrue(open == offered.contains(time), "start " + time + " disagrees with availability");
+        }
+        assertTrue(schedule.isOpen(day.atTime(10, 0), 60));
+        assertFalse(schedule.isOpen(day.atTime(10, 15), 60));
+    }
+}
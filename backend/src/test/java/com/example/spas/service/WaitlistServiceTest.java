@@ -0,0 +1,125 @@
+package com.example.spas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.example.spas.dto.BookingRequest;
+import com.example.spas.dto.BookingView;
+import com.example.spas.dto.HoldRequest;
+import com.example.spas.dto.HoldView;
+import com.example.spas.dto.WaitlistRequest;
+import com.example.spas.dto.WaitlistView;
+import com.example.spas.model.Service;
+import com.example.spas.model.User;
+import com.example.spas.model.enums.WaitlistStatus;
+import com.example.spas.repository.ReservationHoldRepository;
+import com.example.spas.repository.ServiceRepository;
+import com.example.spas.repository.UserRepository;
+import com.example.spas.repository.WaitlistEntryRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A slot freed by a released hold or a cancellation goes to the head of
+ * its waitlist, one waiting user per free unit.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class WaitlistServiceTest {
+
+    private static final long SERVICE_ID = 1L;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ReservationHoldService reservationHoldService;
+
+    @Autowired
+    private SlotCapacityService slotCapacityService;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void deleteHoldsAndEntries() {
+        waitlistEntryRepository.deleteAll();
+        reservationHoldRepository.deleteAll();
+    }
+
+    @Test
+    void releasedHoldIsOfferedToWaitlist() {
+        LocalDateTime slot = LocalDate.now().plusDays(41).atTime(12, 0);
+        long free = transactionTemplate.execute(status -> {
+            Service service = serviceRepository.findById(SERVICE_ID).orElseThrow();
+            return slotCapacityService.freeCapacity(service, slot);
+        });
+        List<Long> customerIds = userRepository.findAll().stream().map(User::getId).toList();
+
+        // Hold every free unit, then queue one more customer
+        List<HoldView> holds = new ArrayList<>();
+        for (int i = 0; i < free; i++) {
+            holds.add(reservationHoldService.createHold(new HoldRequest(SERVICE_ID, slot), customerIds.get(i)));
+        }
+        Long waiterId = customerIds.get((int) free);
+        WaitlistView joined = waitlistService.joinWaitlist(new WaitlistRequest(SERVICE_ID, slot), waiterId);
+        assertEquals(WaitlistStatus.WAITING, joined.getStatus());
+
+        reservationHoldService.releaseHold(holds.get(0).getId(), customerIds.get(0));
+
+        WaitlistView offered = waitlistService.getMyWaitlist(waiterId).get(0);
+        assertEquals(WaitlistStatus.OFFERED, offered.getStatus());
+        assertNotNull(offered.getHoldId());
+    }
+
+    @Test
+    void everyCancelledUnitIsOffered() {
+        LocalDateTime slot = LocalDate.now().plusDays(42).atTime(12, 0);
+        int capacity = serviceRepository.findById(SERVICE_ID).orElseThrow().getCapacity();
+        assertEquals(2, capacity, "seeded massage has two rooms");
+        List<Long> customerIds = userRepository.findAll().stream().map(User::getId).toList();
+
+        // Book both units, then queue two more customers
+        List<BookingView> bookings = new ArrayList<>();
+        for (int i = 0; i < capacity; i++) {
+            bookings.add(bookingService.createBooking(new BookingRequest(SERVICE_ID, slot), customerIds.get(i)));
+        }
+        List<Long> waiterIds = customerIds.subList(capacity, capacity * 2);
+        for (Long waiterId : waiterIds) {
+            waitlistService.joinWaitlist(new WaitlistRequest(SERVICE_ID, slot), waiterId);
+        }
+
+        // The second cancellation comes while the first offer is still open
+        for (int i = 0; i < capacity; i++) {
+            bookingService.cancelBooking(bookings.get(i).getId(), customerIds.get(i));
+            waitlistService.offerNext(SERVICE_ID, slot);
+        }
+
+        for (Long waiterId : waiterIds) {
+            assertEquals(WaitlistStatus.OFFERED, waitlistService.getMyWaitlist(waiterId).get(0).getStatus());
+        }
+    }
+}